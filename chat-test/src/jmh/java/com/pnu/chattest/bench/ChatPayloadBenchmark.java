@@ -0,0 +1,152 @@
+package com.pnu.chattest.bench;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.pnu.chattest.dto.chatting.Action;
+import com.pnu.chattest.dto.chatting.ChatMessageDto;
+import com.pnu.chattest.dto.chatting.UserActionDto;
+import com.pnu.chattest.dto.user.UserInfoDto;
+import com.pnu.chattest.entity.ChatMessage;
+import com.pnu.chattest.entity.ChatRoom;
+import com.pnu.chattest.entity.User;
+import com.pnu.chattest.util.EntityMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메시지 1건 x 구독자 1명마다 실행되는 DTO 매핑과 JSON 직렬화 비용
+ *
+ * ObjectMapper 설정은 Spring Boot 기본값(날짜를 ISO 문자열로 기록)과 맞춘다.
+ * 할당률은 gc 프로파일러(build.gradle 의 jmh.profilers)로 함께 측정된다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ChatPayloadBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ChatMessage chatMessage;
+    private ChatMessageDto chatMessageDto;
+    private UserActionDto userActionDto;
+    private UserInfoDto userInfoDto;
+    private LocalDateTime now;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        ChatRoom room = new ChatRoom("bench", "benchmark room");
+        room.setId(UUID.randomUUID());
+        User user = new User("bench-user", room);
+        user.setId(UUID.randomUUID());
+
+        chatMessage = message(user, room, "안녕하세요, 벤치마크 메시지입니다.");
+        chatMessageDto = EntityMapper.toDto(chatMessage);
+        userInfoDto = EntityMapper.toDto(user);
+        userActionDto = new UserActionDto(userInfoDto, Action.SEND);
+        now = LocalDateTime.now();
+    }
+
+    @Benchmark
+    public ChatMessageDto mapChatMessage() {
+        return EntityMapper.toDto(chatMessage);
+    }
+
+    @Benchmark
+    public UserInfoDto mapUser() {
+        return EntityMapper.toDto(chatMessage.getUser());
+    }
+
+    @Benchmark
+    public List<ChatMessageDto> mapHistory(History history) {
+        return history.messages.stream().map(EntityMapper::toDto).toList();
+    }
+
+    @Benchmark
+    public byte[] serializeChatMessage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(chatMessageDto);
+    }
+
+    @Benchmark
+    public byte[] serializeUserAction() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userActionDto);
+    }
+
+    @Benchmark
+    public byte[] serializeUserInfo() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userInfoDto);
+    }
+
+    @Benchmark
+    public byte[] serializeHistory(History history) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(history.dtos);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeChatMessage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(EntityMapper.toDto(chatMessage));
+    }
+
+    @Benchmark
+    public String formatLocalDateTime() {
+        return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(now);
+    }
+
+    @Benchmark
+    public String serializeLocalDateTime() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(now);
+    }
+
+    /**
+     * 구독 시 한 번에 내려가는 메시지 이력 (리스트 페이로드)
+     */
+    @State(Scope.Benchmark)
+    public static class History {
+
+        @Param({"1", "50", "500"})
+        int size;
+
+        List<ChatMessage> messages;
+        List<ChatMessageDto> dtos;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            ChatRoom room = new ChatRoom("bench", "benchmark room");
+            room.setId(UUID.randomUUID());
+            User user = new User("bench-user", room);
+            user.setId(UUID.randomUUID());
+
+            messages = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                messages.add(message(user, room, "message #" + i));
+            }
+            dtos = messages.stream().map(EntityMapper::toDto).toList();
+        }
+    }
+
+    private static ChatMessage message(User user, ChatRoom room, String content) {
+        ChatMessage message = new ChatMessage(content, user, room);
+        message.setId(UUID.randomUUID());
+        message.setCreatedAt(LocalDateTime.now());
+        return message;
+    }
+}
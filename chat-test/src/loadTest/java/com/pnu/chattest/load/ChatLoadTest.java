@@ -0,0 +1,167 @@
+package com.pnu.chattest.load;
+
+import com.pnu.chattest.dto.chatroom.CreateChatRoomDto;
+import com.pnu.chattest.dto.chatting.ChatMessageDto;
+import com.pnu.chattest.entity.ChatRoom;
+import com.pnu.chattest.entity.User;
+import com.pnu.chattest.service.ChatRoomService;
+import com.pnu.chattest.service.UserService;
+import com.pnu.chattest.util.EntityMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 채팅 end-to-end 부하 테스트
+ *
+ * N 개의 채팅방에 방마다 M 개의 STOMP/SockJS 클라이언트를 붙여 입장, 메시지 전송, 퇴장을 반복한다.
+ * 메시지 본문에 보낸 시각(nanoTime)을 넣어 같은 방 구독자가 받은 시점과의 차이를 전달 지연으로 기록한다.
+ * 임베디드 서버와 H2 로 실행되므로 한 대의 장비에서 최적화 전후를 비교할 수 있다.
+ *
+ * 실행: ./gradlew loadTest -Dload.rooms=10 -Dload.clients=20 -Dload.messages=50
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "chat.redis.enabled=false",
+                "spring.jpa.properties.hibernate.show_sql=false",
+                "spring.datasource.url=jdbc:h2:mem:chatload;DB_CLOSE_DELAY=-1"
+        }
+)
+class ChatLoadTest {
+
+    private static final int ROOMS = Integer.getInteger("load.rooms", 5);
+    private static final int CLIENTS_PER_ROOM = Integer.getInteger("load.clients", 10);
+    private static final int MESSAGES_PER_CLIENT = Integer.getInteger("load.messages", 20);
+    private static final long TIMEOUT_SECONDS = Long.getLong("load.timeoutSeconds", 120);
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    ChatRoomService chatRoomService;
+
+    @Autowired
+    UserService userService;
+
+    @Test
+    void roomsTimesClients() throws Exception {
+        WebSocketStompClient stompClient = stompClient();
+        String url = "http://localhost:" + port + "/ws/chat";
+
+        long expectedDeliveries = (long) ROOMS * CLIENTS_PER_ROOM * MESSAGES_PER_CLIENT * CLIENTS_PER_ROOM;
+        LatencyRecorder latency = new LatencyRecorder((int) Math.min(expectedDeliveries, 10_000_000));
+        CountDownLatch delivered = new CountDownLatch((int) expectedDeliveries);
+        AtomicLong received = new AtomicLong();
+
+        List<Client> clients = new ArrayList<>();
+        for (int r = 0; r < ROOMS; r++) {
+            ChatRoom room = chatRoomService.create(EntityMapper.toEntity(new CreateChatRoomDto("load-" + r, null)));
+            for (int c = 0; c < CLIENTS_PER_ROOM; c++) {
+                User user = userService.create("user-" + r + "-" + c, room.getId());
+                StompSession session = stompClient
+                        .connectAsync(url, new StompSessionHandlerAdapter() { })
+                        .get(10, TimeUnit.SECONDS);
+                session.subscribe("/topic/chats/" + room.getId(), new DeliveryHandler(latency, delivered, received));
+                clients.add(new Client(room.getId(), user, session));
+            }
+        }
+
+        for (Client client : clients) {
+            client.session().send("/app/chats/" + client.roomId() + "/enter", EntityMapper.toDto(client.user()));
+        }
+
+        long start = System.nanoTime();
+        for (int m = 0; m < MESSAGES_PER_CLIENT; m++) {
+            for (Client client : clients) {
+                client.session().send("/app/chats/" + client.roomId() + "/send", new ChatMessageDto(
+                        null, client.user().getId(), client.user().getNickname(),
+                        Long.toString(System.nanoTime()), null
+                ));
+            }
+        }
+        boolean completed = delivered.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        long elapsed = System.nanoTime() - start;
+
+        for (Client client : clients) {
+            client.session().send("/app/chats/" + client.roomId() + "/leave", EntityMapper.toDto(client.user()));
+            client.session().disconnect();
+        }
+        stompClient.stop();
+
+        long sent = (long) clients.size() * MESSAGES_PER_CLIENT;
+        double seconds = elapsed / 1_000_000_000.0;
+        System.out.printf("[chat-load] rooms=%d clients/room=%d messages/client=%d%n",
+                ROOMS, CLIENTS_PER_ROOM, MESSAGES_PER_CLIENT);
+        System.out.printf("[chat-load] sent=%d (%.0f msg/s) delivered=%d/%d (%.0f deliveries/s) in %.2fs%n",
+                sent, sent / seconds, received.get(), expectedDeliveries, received.get() / seconds, seconds);
+        System.out.printf("[chat-load] delivery latency %s%n", latency.summary());
+
+        assertThat(completed).as("all messages delivered within %ds", TIMEOUT_SECONDS).isTrue();
+    }
+
+    private static WebSocketStompClient stompClient() {
+        SockJsClient sockJsClient = new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient())));
+        WebSocketStompClient stompClient = new WebSocketStompClient(sockJsClient);
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(JsonMapper.builder().findAndAddModules().build());
+        stompClient.setMessageConverter(converter);
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.initialize();
+        stompClient.setTaskScheduler(scheduler);
+        stompClient.setInboundMessageSizeLimit(1024 * 1024);
+        return stompClient;
+    }
+
+    private record Client(UUID roomId, User user, StompSession session) {
+    }
+
+    /**
+     * 같은 토픽으로 ChatMessageDto 와 UserActionDto 가 함께 오므로 Map 으로 받아 content 가 있는 것만 센다.
+     */
+    private record DeliveryHandler(
+            LatencyRecorder latency,
+            CountDownLatch delivered,
+            AtomicLong received
+    ) implements StompFrameHandler {
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return Map.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            Object content = ((Map<?, ?>) payload).get("content");
+            if (!(content instanceof String sentAt)) {
+                return;
+            }
+            latency.record(System.nanoTime() - Long.parseLong(sentAt));
+            received.incrementAndGet();
+            delivered.countDown();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.pnu.chattest.load;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 고정 크기 배열에 지연 시간(ns)을 기록하고 백분위를 계산한다.
+ * 측정 중에는 객체를 만들지 않도록 long 배열에 바로 기록한다.
+ */
+class LatencyRecorder {
+
+    private final long[] samples;
+    private final AtomicInteger count = new AtomicInteger();
+
+    LatencyRecorder(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    void record(long nanos) {
+        int index = count.getAndIncrement();
+        if (index < samples.length) {
+            samples[index] = nanos;
+        }
+    }
+
+    int count() {
+        return Math.min(count.get(), samples.length);
+    }
+
+    String summary() {
+        int n = count();
+        if (n == 0) {
+            return "no samples";
+        }
+        long[] sorted = Arrays.copyOf(samples, n);
+        Arrays.sort(sorted);
+        return String.format("n=%d p50=%.2fms p90=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms",
+                n,
+                millis(sorted, 0.50),
+                millis(sorted, 0.90),
+                millis(sorted, 0.99),
+                millis(sorted, 0.999),
+                sorted[n - 1] / 1_000_000.0
+        );
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
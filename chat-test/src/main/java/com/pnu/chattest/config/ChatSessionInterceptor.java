@@ -0,0 +1,58 @@
+package com.pnu.chattest.config;
+
+import com.pnu.chattest.service.ChatSessionRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 인바운드 STOMP 프레임으로 세션 목록을 관리한다.
+ *
+ * drain 중에는 새 CONNECT 를 거절해 다른 노드로 접속하도록 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatSessionInterceptor implements ChannelInterceptor {
+
+    private static final Pattern ROOM_TOPIC = Pattern.compile("^/topic/chats/([0-9a-fA-F-]{36})$");
+
+    private final ChatSessionRegistry sessionRegistry;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        if (accessor.getCommand() == null || accessor.getSessionId() == null) {
+            return message;
+        }
+
+        String sessionId = accessor.getSessionId();
+        switch (accessor.getCommand()) {
+            case CONNECT, STOMP -> {
+                if (sessionRegistry.isDraining()) {
+                    throw new MessageDeliveryException(message, "종료 중인 노드입니다. 다른 노드로 다시 접속하세요.");
+                }
+                sessionRegistry.register(sessionId);
+            }
+            case SUBSCRIBE -> {
+                String destination = accessor.getDestination();
+                Matcher matcher = destination == null ? null : ROOM_TOPIC.matcher(destination);
+                if (matcher != null && matcher.matches()) {
+                    UUID roomId = UUID.fromString(matcher.group(1));
+                    sessionRegistry.joinRoom(sessionId, accessor.getSubscriptionId(), roomId);
+                }
+            }
+            case UNSUBSCRIBE -> sessionRegistry.unsubscribe(sessionId, accessor.getSubscriptionId());
+            default -> {
+            }
+        }
+        return message;
+    }
+}
@@ -4,11 +4,13 @@ import org.redisson.Redisson;
 import org.redisson.api.RedissonClient;
 import org.redisson.config.Config;
 import org.redisson.spring.data.connection.RedissonConnectionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 @Configuration
+@ConditionalOnProperty(prefix = "chat.redis", name = "enabled", havingValue = "true", matchIfMissing = true)
 public class RedissonConfig {
     @Bean
     public RedissonConnectionFactory redissonConnectionFactory(RedissonClient redisson) {
@@ -1,6 +1,10 @@
 package com.pnu.chattest.config;
 
+import com.pnu.chattest.metrics.ChannelMetricsInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
@@ -8,15 +12,33 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final ChatSessionInterceptor chatSessionInterceptor;
+    private final MeterRegistry meterRegistry;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         // Configure the message broker
-        registry.enableSimpleBroker("/topic");
+        // '/queue' 는 세션 단위 알림(/user/queue/...) 전송에 사용한다.
+        registry.enableSimpleBroker("/topic", "/queue");
         registry.setApplicationDestinationPrefixes("/app");
     }
 
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(
+                chatSessionInterceptor,
+                new ChannelMetricsInterceptor(meterRegistry, "inbound")
+        );
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(new ChannelMetricsInterceptor(meterRegistry, "outbound"));
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry    .addEndpoint("/ws/chat")
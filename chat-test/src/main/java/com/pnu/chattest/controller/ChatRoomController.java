@@ -1,30 +1,70 @@
 package com.pnu.chattest.controller;
 
 import com.pnu.chattest.dto.chatroom.ChatRoomInfoDto;
+import com.pnu.chattest.dto.chatroom.ChatRoomPageDto;
 import com.pnu.chattest.dto.chatroom.CreateChatRoomDto;
 import com.pnu.chattest.service.ChatRoomService;
 import com.pnu.chattest.util.EntityMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/chatrooms")
 public class ChatRoomController {
+    private static final Set<String> SORTABLE = Set.of("name", "createdAt");
+
     private final ChatRoomService chatRoomService;
 
     @GetMapping
-    public ResponseEntity<List<ChatRoomInfoDto>> getChatRooms() {
-        return ResponseEntity.ok(chatRoomService.findAll()
-                .stream()
-                .map(EntityMapper::toDto)
-                .toList()
-        );
+    public ResponseEntity<List<ChatRoomInfoDto>> getChatRooms(WebRequest request) {
+        String etag = "\"rooms-" + chatRoomService.getRoomListVersion() + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(chatRoomService.findAll()
+                        .stream()
+                        .map(EntityMapper::toDto)
+                        .toList()
+                );
+    }
+
+    /**
+     * 방 목록 요약 (페이지 단위)
+     *
+     * 로비 화면의 주기적인 조회용. 방 요약 버전과 페이지/정렬이 같으면 DB 를 조회하지 않고 304 를 응답한다.
+     * 정렬은 name, createdAt 만 허용한다.
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<ChatRoomPageDto> getChatRoomSummaries(
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            WebRequest request
+    ) {
+        Pageable sanitized = sanitize(pageable);
+        String etag = summaryEtag(sanitized);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(chatRoomService.findSummaries(sanitized));
     }
 
     @GetMapping("/{chatroomId}")
@@ -51,4 +91,23 @@ public class ChatRoomController {
         chatRoomService.deleteById(chatroomId);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * 같은 버전이라도 페이지/크기/정렬이 다르면 다른 응답이므로 ETag 에 넣는다.
+     */
+    private String summaryEtag(Pageable pageable) {
+        String sort = pageable.getSort().stream()
+                .map(order -> order.getProperty() + "," + order.getDirection())
+                .collect(Collectors.joining(";"));
+        return "\"summary-" + chatRoomService.getRoomSummaryVersion()
+                + "-" + pageable.getPageNumber() + "-" + pageable.getPageSize() + "-" + sort + "\"";
+    }
+
+    private static Pageable sanitize(Pageable pageable) {
+        Sort sort = Sort.by(pageable.getSort()
+                .filter(order -> SORTABLE.contains(order.getProperty()))
+                .toList());
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                sort.isSorted() ? sort : Sort.by(Sort.Direction.DESC, "createdAt"));
+    }
 }
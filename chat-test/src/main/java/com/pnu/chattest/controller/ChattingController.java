@@ -6,13 +6,16 @@ import com.pnu.chattest.dto.chatting.UserActionDto;
 import com.pnu.chattest.dto.user.UserInfoDto;
 import com.pnu.chattest.entity.ChatMessage;
 import com.pnu.chattest.entity.User;
+import com.pnu.chattest.metrics.ChatMetrics;
 import com.pnu.chattest.service.ChattingService;
 import com.pnu.chattest.service.UserService;
 import com.pnu.chattest.util.EntityMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.SendTo;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 
@@ -26,19 +29,25 @@ public class ChattingController {
 
     private final ChattingService chattingService;
     private final UserService userService;
-
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ChatMetrics chatMetrics;
 
     /**
      * 채팅방 메시지 구독 이벤트
      *
      * 처음 메시지가 구독되면 채팅방 메시지 목록을 반환한다.
      * 사용자는 접속 시간과 관계없이 전체 메시지 목록을 받아볼 수 있다.
+     * 재접속 시 last-message-id 헤더를 보내면 그 이후의 메시지만 반환한다.
      */
     @SubscribeMapping("/{roomId}")
     public List<ChatMessageDto> onSubscribeChatRoom(
-            @DestinationVariable UUID roomId
+            @DestinationVariable UUID roomId,
+            @Header(value = "last-message-id", required = false) UUID lastMessageId
     ) {
-        return chattingService.findByChatRoomId(roomId)
+        var messages = lastMessageId == null
+                ? chattingService.findByChatRoomId(roomId)
+                : chattingService.findByChatRoomIdSince(roomId, lastMessageId);
+        return messages
                 .stream()
                 .map(EntityMapper::toDto)
                 .toList();
@@ -79,12 +88,14 @@ public class ChattingController {
      * 
      * 채팅 메시지를 전송하면 해당 메시지를 브로드캐스트한다.
      * 구독자들은 실시간으로 메시지를 받아볼 수 있다.
+     * 수신부터 브로커 전달까지의 지연을 측정하기 위해 @SendTo 대신 직접 전송한다.
      */
     @MessageMapping("/{roomId}/send")
-    @SendTo("/topic/chats/{roomId}")
-    public ChatMessageDto sendMessage(@DestinationVariable UUID roomId, ChatMessageDto message) {
+    public void sendMessage(@DestinationVariable UUID roomId, ChatMessageDto message) {
+        var sample = chatMetrics.startDispatch();
         ChatMessage chatMessage = chattingService.sendMessageTo(roomId, message.senderId(), message.content());
-        return EntityMapper.toDto(chatMessage);
+        messagingTemplate.convertAndSend("/topic/chats/" + roomId, EntityMapper.toDto(chatMessage));
+        chatMetrics.stopDispatch(sample);
     }
 
     /**
@@ -0,0 +1,12 @@
+package com.pnu.chattest.dto.chatroom;
+
+import java.util.List;
+
+public record ChatRoomPageDto(
+        List<ChatRoomSummaryDto> rooms,
+        int page,
+        int size,
+        long totalElements,
+        int totalPages
+) {
+}
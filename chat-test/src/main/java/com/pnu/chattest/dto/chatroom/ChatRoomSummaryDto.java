@@ -0,0 +1,12 @@
+package com.pnu.chattest.dto.chatroom;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record ChatRoomSummaryDto(
+        UUID roomId,
+        String name,
+        LocalDateTime createdAt,
+        int memberCount
+) {
+}
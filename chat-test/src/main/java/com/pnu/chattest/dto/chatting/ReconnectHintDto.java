@@ -0,0 +1,10 @@
+package com.pnu.chattest.dto.chatting;
+
+import java.util.UUID;
+
+public record ReconnectHintDto(
+        UUID roomId,
+        long reconnectAfterMs
+) {
+
+}
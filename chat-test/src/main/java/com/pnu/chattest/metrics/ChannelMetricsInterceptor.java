@@ -0,0 +1,31 @@
+package com.pnu.chattest.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+
+/**
+ * 채널별 메시지 처리량 카운터
+ *
+ * 인바운드/아웃바운드 채널마다 하나씩 WebSocketConfig 에서 생성해 등록한다.
+ */
+public class ChannelMetricsInterceptor implements ChannelInterceptor {
+
+    private final Counter messages;
+
+    public ChannelMetricsInterceptor(MeterRegistry meterRegistry, String channel) {
+        this.messages = Counter.builder("chat.channel.messages")
+                .description("채널을 통과한 메시지 수")
+                .tag("channel", channel)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        if (sent) {
+            messages.increment();
+        }
+    }
+}
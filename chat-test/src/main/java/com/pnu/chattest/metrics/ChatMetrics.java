@@ -0,0 +1,86 @@
+package com.pnu.chattest.metrics;
+
+import com.pnu.chattest.service.ChatSessionRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 채팅 hot path 지표
+ *
+ * 세션 수, 채널 큐 길이, 메시지 수신부터 브로커 전달까지의 지연, ChattingService 의 DB 시간을 기록한다.
+ * 모든 지표는 카운터/게이지/히스토그램 버킷만 사용하므로 운영 환경에서 계속 켜 두어도 된다.
+ */
+@Component
+public class ChatMetrics {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry meterRegistry;
+    private final Timer dispatchTimer;
+    private final Map<String, Timer> dbTimers = new ConcurrentHashMap<>();
+
+    public ChatMetrics(
+            MeterRegistry meterRegistry,
+            ChatSessionRegistry sessionRegistry,
+            @Qualifier("clientInboundChannelExecutor") ThreadPoolTaskExecutor inboundExecutor,
+            @Qualifier("clientOutboundChannelExecutor") ThreadPoolTaskExecutor outboundExecutor
+    ) {
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("chat.sessions", sessionRegistry, ChatSessionRegistry::size)
+                .description("현재 노드에 연결된 STOMP 세션 수")
+                .register(meterRegistry);
+        // 채팅방 id 는 클라이언트가 정하므로 방별 태그 대신 노드 전체 집계만 내보낸다.
+        Gauge.builder("chat.rooms.active", sessionRegistry, ChatSessionRegistry::activeRoomCount)
+                .description("구독자가 있는 채팅방 수")
+                .register(meterRegistry);
+        Gauge.builder("chat.room.subscribers.max", sessionRegistry, ChatSessionRegistry::maxSubscriberCount)
+                .description("구독자가 가장 많은 채팅방의 구독 세션 수")
+                .register(meterRegistry);
+        registerQueueGauge("inbound", inboundExecutor);
+        registerQueueGauge("outbound", outboundExecutor);
+
+        this.dispatchTimer = Timer.builder("chat.message.dispatch")
+                .description("sendMessage 수신부터 브로커 전달까지의 지연")
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public Timer.Sample startDispatch() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void stopDispatch(Timer.Sample sample) {
+        sample.stop(dispatchTimer);
+    }
+
+    public <T> T recordDb(String operation, Supplier<T> query) {
+        return dbTimers.computeIfAbsent(operation, op -> Timer.builder("chat.db")
+                        .description("ChattingService 내부 DB 시간")
+                        .tag("operation", op)
+                        .publishPercentiles(PERCENTILES)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(query);
+    }
+
+    private void registerQueueGauge(String channel, ThreadPoolTaskExecutor executor) {
+        Gauge.builder("chat.channel.queue", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("채널 실행기 대기열 길이")
+                .tag("channel", channel)
+                .register(meterRegistry);
+        Gauge.builder("chat.channel.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("채널 실행기 활성 스레드 수")
+                .tag("channel", channel)
+                .register(meterRegistry);
+    }
+}
@@ -1,10 +1,12 @@
 package com.pnu.chattest.repository;
 
 import com.pnu.chattest.entity.ChatRoom;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.UUID;
 
 public interface ChatRoomRepository extends JpaRepository<ChatRoom, UUID> {
-
+    Page<ChatRoomSummaryView> findAllProjectedBy(Pageable pageable);
 }
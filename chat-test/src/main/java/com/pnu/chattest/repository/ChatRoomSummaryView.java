@@ -0,0 +1,15 @@
+package com.pnu.chattest.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 방 목록 조회용 projection (description 등 목록에 필요 없는 컬럼은 읽지 않는다)
+ */
+public interface ChatRoomSummaryView {
+    UUID getId();
+
+    String getName();
+
+    LocalDateTime getCreatedAt();
+}
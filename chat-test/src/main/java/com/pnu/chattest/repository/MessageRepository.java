@@ -2,10 +2,28 @@ package com.pnu.chattest.repository;
 
 import com.pnu.chattest.entity.ChatMessage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 public interface MessageRepository extends JpaRepository<ChatMessage, UUID> {
     List<ChatMessage> findAllByChatRoomId(UUID chatRoomId);
+
+    /**
+     * (createdAt, id) 가 기준 메시지보다 뒤인 메시지. 기준과 createdAt 이 같은 메시지도 id 로 구분해 빠뜨리지 않는다.
+     */
+    @Query("""
+            SELECT m FROM ChatMessage m
+            WHERE m.chatRoom.id = :chatRoomId
+              AND (m.createdAt > :createdAt OR (m.createdAt = :createdAt AND m.id > :id))
+            ORDER BY m.createdAt ASC, m.id ASC
+            """)
+    List<ChatMessage> findAllByChatRoomIdAfter(
+            @Param("chatRoomId") UUID chatRoomId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id
+    );
 }
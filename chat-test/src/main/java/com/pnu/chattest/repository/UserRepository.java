@@ -2,10 +2,17 @@ package com.pnu.chattest.repository;
 
 import com.pnu.chattest.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
     List<User> findAllByChatRoomId(UUID chatRoomId);
+
+    /**
+     * 채팅방별 멤버 수 [roomId, count]
+     */
+    @Query("SELECT u.chatRoom.id, COUNT(u) FROM User u GROUP BY u.chatRoom.id")
+    List<Object[]> countMembersGroupByChatRoom();
 }
@@ -0,0 +1,100 @@
+package com.pnu.chattest.service;
+
+import com.pnu.chattest.dto.chatting.ReconnectHintDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 노드 종료 시 세션 drain
+ *
+ * 컨텍스트가 닫히기 시작하면(브로커와 웹 서버가 멈추기 전) 새 세션을 거절하고,
+ * 연결된 세션마다 서로 다른 지연 시간을 담은 재접속 안내를 보낸 뒤
+ * 처리 중인 인바운드 메시지(메시지 저장 포함)가 끝날 때까지 기다린다.
+ * 어디까지 받았는지는 클라이언트가 안다. 재접속한 클라이언트는 자기가 마지막으로 받은 메시지 id 를 last-message-id 로 보낸다.
+ * (방의 최신 메시지 id 를 알려 주면 저장됐지만 아직 전달되지 않은 메시지를 건너뛰게 된다)
+ */
+@Slf4j
+@Service
+public class ChatDrainService {
+
+    private final ChatSessionRegistry sessionRegistry;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ThreadPoolTaskExecutor inboundExecutor;
+
+    private final long reconnectJitterMs;
+    private final long flushTimeoutMs;
+
+    public ChatDrainService(
+            ChatSessionRegistry sessionRegistry,
+            SimpMessagingTemplate messagingTemplate,
+            @Qualifier("clientInboundChannelExecutor") ThreadPoolTaskExecutor inboundExecutor,
+            @Value("${chat.drain.reconnect-jitter-ms:10000}") long reconnectJitterMs,
+            @Value("${chat.drain.flush-timeout-ms:5000}") long flushTimeoutMs
+    ) {
+        this.sessionRegistry = sessionRegistry;
+        this.messagingTemplate = messagingTemplate;
+        this.inboundExecutor = inboundExecutor;
+        this.reconnectJitterMs = reconnectJitterMs;
+        this.flushTimeoutMs = flushTimeoutMs;
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void drain() {
+        sessionRegistry.startDraining();
+        Map<String, UUID> sessions = sessionRegistry.snapshot();
+        log.info("채팅 노드 drain 시작: 세션 {}개", sessions.size());
+
+        sendReconnectHints(sessions);
+        awaitInboundFlush();
+
+        log.info("채팅 노드 drain 완료");
+    }
+
+    private void sendReconnectHints(Map<String, UUID> sessions) {
+        sessions.forEach((sessionId, roomId) -> {
+            boolean inRoom = !ChatSessionRegistry.NO_ROOM.equals(roomId);
+            long delay = ThreadLocalRandom.current().nextLong(reconnectJitterMs + 1);
+
+            messagingTemplate.convertAndSendToUser(
+                    sessionId,
+                    "/queue/reconnect",
+                    new ReconnectHintDto(inRoom ? roomId : null, delay),
+                    sessionHeaders(sessionId)
+            );
+        });
+    }
+
+    private void awaitInboundFlush() {
+        long deadline = System.currentTimeMillis() + flushTimeoutMs;
+        while (System.currentTimeMillis() < deadline
+                && (inboundExecutor.getActiveCount() > 0
+                || inboundExecutor.getThreadPoolExecutor().getQueue().size() > 0)) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static MessageHeaders sessionHeaders(String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setLeaveMutable(true);
+        return accessor.getMessageHeaders();
+    }
+}
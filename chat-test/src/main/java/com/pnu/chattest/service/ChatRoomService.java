@@ -1,27 +1,161 @@
 package com.pnu.chattest.service;
 
+import com.pnu.chattest.dto.chatroom.ChatRoomPageDto;
+import com.pnu.chattest.dto.chatroom.ChatRoomSummaryDto;
 import com.pnu.chattest.entity.ChatRoom;
 import com.pnu.chattest.repository.ChatRoomRepository;
-import lombok.RequiredArgsConstructor;
+import com.pnu.chattest.repository.ChatRoomSummaryView;
+import com.pnu.chattest.repository.UserRepository;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
-@RequiredArgsConstructor
 public class ChatRoomService {
 
+    /**
+     * 버전이 같으면 응답도 같으므로 ETag 로 사용해 DB 조회 없이 304 를 응답할 수 있다.
+     * chat.rooms.shared-state=true 면 Redis 에 두고 노드끼리 공유한다. 모든 노드가 같은 DB 를 쓸 때만 켠다.
+     * (노드마다 DB 가 다르면(기본값 jdbc:h2:mem) 같은 버전이 노드마다 다른 방 목록을 가리키게 되므로 노드 안에서만 센다)
+     * 카운터가 새로 만들어졌을 때(재시작, Redis 초기화) 이전 ETag 와 겹치지 않도록 시작 값은 그 시각으로 둔다.
+     */
+    private interface Version {
+        long get();
+
+        void increment();
+    }
+
     private final ChatRoomRepository chatRoomRepository;
+    private final UserRepository userRepository;
+
+    /** 방 목록 버전. 방 생성/삭제 시 증가한다. */
+    private final Version roomListVersion;
+    /** 방 요약 버전. 방 생성/삭제, 멤버 입장/퇴장 시 증가한다. (요약에는 멤버 수가 들어간다) */
+    private final Version roomSummaryVersion;
+    /** 방별 멤버 수. 요약 버전과 같은 곳(Redis 또는 노드)에 둔다. */
+    private final Map<UUID, Integer> memberCounts;
+    /** 공유 멤버 수를 채우는 노드끼리의 잠금. 노드 안에서만 세면 null */
+    private final RLock memberCountsLoadLock;
+
+    public ChatRoomService(
+            ChatRoomRepository chatRoomRepository,
+            UserRepository userRepository,
+            ObjectProvider<RedissonClient> redisson,
+            @Value("${chat.rooms.shared-state:false}") boolean sharedState
+    ) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.userRepository = userRepository;
+        RedissonClient client = sharedState ? redisson.getIfAvailable() : null;
+        this.roomListVersion = version(client, "chat:rooms:list-version");
+        this.roomSummaryVersion = version(client, "chat:rooms:summary-version");
+        this.memberCounts = client == null ? new ConcurrentHashMap<>() : client.getMap("chat:rooms:member-counts");
+        this.memberCountsLoadLock = client == null ? null : client.getLock("chat:rooms:member-counts:load");
+    }
+
+    private static Version version(RedissonClient client, String name) {
+        if (client == null) {
+            AtomicLong local = new AtomicLong(System.currentTimeMillis());
+            return new Version() {
+                @Override
+                public long get() {
+                    return local.get();
+                }
+
+                @Override
+                public void increment() {
+                    local.incrementAndGet();
+                }
+            };
+        }
+        RAtomicLong shared = client.getAtomicLong(name);
+        shared.compareAndSet(0, System.currentTimeMillis());
+        return new Version() {
+            @Override
+            public long get() {
+                return shared.get();
+            }
+
+            @Override
+            public void increment() {
+                shared.incrementAndGet();
+            }
+        };
+    }
+
+    /**
+     * 멤버 수를 DB 에서 채운다.
+     * 공유 중이면 다른 노드가 이미 채워 세고 있는 값을 지우지 않도록, 잠금을 잡고 비어 있을 때만 채운다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadMemberCounts() {
+        if (memberCountsLoadLock == null) {
+            memberCounts.clear();
+            memberCounts.putAll(countMembers());
+            roomSummaryVersion.increment();
+            return;
+        }
+        memberCountsLoadLock.lock();
+        try {
+            if (memberCounts.isEmpty()) {
+                memberCounts.putAll(countMembers());
+                roomSummaryVersion.increment();
+            }
+        } finally {
+            memberCountsLoadLock.unlock();
+        }
+    }
+
+    private Map<UUID, Integer> countMembers() {
+        Map<UUID, Integer> counts = new HashMap<>();
+        for (Object[] row : userRepository.countMembersGroupByChatRoom()) {
+            if (row[0] != null) {
+                counts.put((UUID) row[0], ((Number) row[1]).intValue());
+            }
+        }
+        return counts;
+    }
 
     public ChatRoom create(ChatRoom chatRoom) {
-        return chatRoomRepository.save(chatRoom);
+        ChatRoom created = chatRoomRepository.save(chatRoom);
+        roomListVersion.increment();
+        roomSummaryVersion.increment();
+        return created;
     }
 
     public List<ChatRoom> findAll() {
         return chatRoomRepository.findAll();
     }
 
+    public ChatRoomPageDto findSummaries(Pageable pageable) {
+        Page<ChatRoomSummaryView> page = chatRoomRepository.findAllProjectedBy(pageable);
+        return new ChatRoomPageDto(
+                page.map(view -> new ChatRoomSummaryDto(
+                        view.getId(),
+                        view.getName(),
+                        view.getCreatedAt(),
+                        getMemberCount(view.getId())
+                )).getContent(),
+                page.getNumber(),
+                page.getSize(),
+                page.getTotalElements(),
+                page.getTotalPages()
+        );
+    }
+
     public ChatRoom findById(UUID chatroomId) {
         return chatRoomRepository.findById(chatroomId)
                 .orElseThrow(() -> new IllegalArgumentException("해당 ID의 채팅방이 존재하지 않습니다." + chatroomId));
@@ -29,6 +163,31 @@ public class ChatRoomService {
 
     public void deleteById(UUID chatroomId) {
         chatRoomRepository.deleteById(chatroomId);
+        memberCounts.remove(chatroomId);
+        roomListVersion.increment();
+        roomSummaryVersion.increment();
+    }
+
+    public long getRoomListVersion() {
+        return roomListVersion.get();
+    }
+
+    public long getRoomSummaryVersion() {
+        return roomSummaryVersion.get();
+    }
+
+    public int getMemberCount(UUID chatroomId) {
+        return memberCounts.getOrDefault(chatroomId, 0);
+    }
+
+    void memberJoined(UUID chatroomId) {
+        memberCounts.merge(chatroomId, 1, Integer::sum);
+        roomSummaryVersion.increment();
+    }
+
+    void memberLeft(UUID chatroomId) {
+        memberCounts.computeIfPresent(chatroomId, (id, count) -> Math.max(0, count - 1));
+        roomSummaryVersion.increment();
     }
 
     ChatRoom getReferenceById(UUID chatroomId) {
@@ -0,0 +1,110 @@
+package com.pnu.chattest.service;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 현재 노드에 연결된 STOMP 세션 목록
+ *
+ * 세션이 구독한 채팅방을 기록해 두고, 노드 종료(drain) 시 세션별 재접속 안내를 보낼 때 사용한다.
+ * 채팅방별 구독자 수는 구독자가 0 이 되면 지운다. (클라이언트가 보낸 방 id 로 항목이 계속 늘지 않도록)
+ */
+@Component
+public class ChatSessionRegistry {
+
+    /** 아직 채팅방을 구독하지 않은 세션 */
+    public static final UUID NO_ROOM = new UUID(0L, 0L);
+
+    /** 세션이 구독한 채팅방과 그 구독 id (STOMP UNSUBSCRIBE 는 구독 id 만 보낸다) */
+    private record Membership(UUID roomId, String subscriptionId) {
+    }
+
+    private static final Membership NO_MEMBERSHIP = new Membership(NO_ROOM, null);
+
+    private final Map<String, Membership> sessionRooms = new ConcurrentHashMap<>();
+    private final Map<UUID, Integer> roomSubscribers = new ConcurrentHashMap<>();
+    private volatile boolean draining = false;
+
+    public void register(String sessionId) {
+        sessionRooms.putIfAbsent(sessionId, NO_MEMBERSHIP);
+    }
+
+    public void joinRoom(String sessionId, String subscriptionId, UUID roomId) {
+        Membership previous = sessionRooms.put(sessionId, new Membership(roomId, subscriptionId));
+        if (previous != null && roomId.equals(previous.roomId())) {
+            return;
+        }
+        leaveRoom(previous);
+        roomSubscribers.merge(roomId, 1, Integer::sum);
+    }
+
+    /**
+     * 채팅방 구독 해제. 세션이 구독 중인 채팅방의 구독 id 가 아니면 무시한다.
+     */
+    public void unsubscribe(String sessionId, String subscriptionId) {
+        Membership current = sessionRooms.get(sessionId);
+        if (current == null || subscriptionId == null || !subscriptionId.equals(current.subscriptionId())) {
+            return;
+        }
+        if (sessionRooms.replace(sessionId, current, NO_MEMBERSHIP)) {
+            leaveRoom(current);
+        }
+    }
+
+    public void remove(String sessionId) {
+        leaveRoom(sessionRooms.remove(sessionId));
+    }
+
+    private void leaveRoom(Membership membership) {
+        if (membership == null || NO_ROOM.equals(membership.roomId())) {
+            return;
+        }
+        roomSubscribers.computeIfPresent(membership.roomId(), (id, count) -> count > 1 ? count - 1 : null);
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        remove(event.getSessionId());
+    }
+
+    public Map<String, UUID> snapshot() {
+        return sessionRooms.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> e.getValue().roomId()));
+    }
+
+    public int size() {
+        return sessionRooms.size();
+    }
+
+    public int subscriberCount(UUID roomId) {
+        return roomSubscribers.getOrDefault(roomId, 0);
+    }
+
+    /**
+     * 구독자가 한 명 이상인 채팅방 수
+     */
+    public int activeRoomCount() {
+        return roomSubscribers.size();
+    }
+
+    /**
+     * 구독자가 가장 많은 채팅방의 구독자 수
+     */
+    public int maxSubscriberCount() {
+        return roomSubscribers.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+
+    public boolean isDraining() {
+        return draining;
+    }
+
+    public void startDraining() {
+        this.draining = true;
+    }
+}
@@ -5,6 +5,7 @@ import com.pnu.chattest.dto.chatting.UserActionDto;
 import com.pnu.chattest.entity.ChatRoom;
 import com.pnu.chattest.entity.ChatMessage;
 import com.pnu.chattest.entity.User;
+import com.pnu.chattest.metrics.ChatMetrics;
 import com.pnu.chattest.repository.MessageRepository;
 import com.pnu.chattest.util.EntityMapper;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +13,7 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -22,25 +24,45 @@ public class ChattingService {
     private final ChatRoomService chatRoomService;
     private final UserService userService;
     private final SimpMessagingTemplate messagingTemplate;
+    private final ChatMetrics chatMetrics;
 
     public List<User> findUsersInChatRoom(UUID chatroomId) {
-        return userService.findByChatRoomId(chatroomId);
+        return chatMetrics.recordDb("findUsers", () -> userService.findByChatRoomId(chatroomId));
     }
 
     public List<ChatMessage> findByChatRoomId(UUID chatroomId) {
-        return messageRepository.findAllByChatRoomId(chatroomId);
+        return chatMetrics.recordDb("findMessages", () -> messageRepository.findAllByChatRoomId(chatroomId));
+    }
+
+    /**
+     * 마지막으로 받은 메시지 이후의 메시지만 조회한다.
+     * 재접속한 클라이언트가 전체 이력을 다시 받지 않도록 할 때 사용한다.
+     * 기준 메시지가 없거나 다른 채팅방의 메시지면 전체 이력을 준다.
+     */
+    public List<ChatMessage> findByChatRoomIdSince(UUID chatroomId, UUID lastMessageId) {
+        Optional<ChatMessage> lastMessage = chatMetrics.recordDb("findMessage",
+                () -> messageRepository.findById(lastMessageId))
+                .filter(message -> message.getCreatedAt() != null)
+                .filter(message -> message.getChatRoom() != null && chatroomId.equals(message.getChatRoom().getId()));
+        if (lastMessage.isEmpty()) {
+            return findByChatRoomId(chatroomId);
+        }
+        return chatMetrics.recordDb("findMessagesSince",
+                () -> messageRepository.findAllByChatRoomIdAfter(
+                        chatroomId, lastMessage.get().getCreatedAt(), lastMessage.get().getId()
+                ));
     }
 
     public User updateLastActiveTime(UUID userId) {
-        return userService.updateLastActiveTime(userId);
+        return chatMetrics.recordDb("updateLastActiveTime", () -> userService.updateLastActiveTime(userId));
     }
 
     public ChatMessage sendMessageTo(UUID chatroomId, UUID senderId, String content) {
         ChatRoom chatRoom = chatRoomService.getReferenceById(chatroomId);
         User sender = updateLastActiveTime(senderId);
 
-        ChatMessage chatMessage = new ChatMessage(content, sender, chatRoom);
-        chatMessage = messageRepository.save(chatMessage);
+        ChatMessage chatMessage = chatMetrics.recordDb("saveMessage",
+                () -> messageRepository.save(new ChatMessage(content, sender, chatRoom)));
 
         UserActionDto userActionDto = new UserActionDto(
                 EntityMapper.toDto(sender),
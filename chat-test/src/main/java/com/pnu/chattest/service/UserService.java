@@ -17,8 +17,9 @@ public class UserService {
     private final ChatRoomService chatRoomService;
 
     public User create(String nickname, UUID chatRoomId) {
-        User user = new User(nickname, chatRoomService.findById(chatRoomId));
-        return userRepository.save(user);
+        User user = userRepository.save(new User(nickname, chatRoomService.findById(chatRoomId)));
+        chatRoomService.memberJoined(chatRoomId);
+        return user;
     }
 
     public List<User> findAll() {
@@ -43,5 +44,8 @@ public class UserService {
     public void deleteById(UUID userId) {
         User user = findById(userId);
         userRepository.delete(user);
+        if (user.getChatRoom() != null) {
+            chatRoomService.memberLeft(user.getChatRoom().getId());
+        }
     }
 }
@@ -0,0 +1,114 @@
+package com.pnu.geoscopetest.bench;
+
+import com.pnu.geoscopetest.GeoscopeTestApplication;
+import com.pnu.geoscopetest.dto.PinResponseDto;
+import com.pnu.geoscopetest.entity.Sigungu;
+import com.pnu.geoscopetest.repository.PinQueryRepository;
+import com.pnu.geoscopetest.repository.PinRepository;
+import com.pnu.geoscopetest.repository.SggRepository;
+import com.pnu.geoscopetest.spatial.UtmK;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 반경/시군구 조회를 엔티티 경로(Pin + JTS Point + Sigungu 프록시 → DTO)와
+ * JDBC DTO 프로젝션 경로로 실행해 비교한다. 시군구 조회는 쿼리가 같고 매핑 비용만 다르다.
+ * 반경 조회는 엔티티 경로가 geography 거리, 프로젝션 경로가 UTM-K(location_5179) 평면 거리를 써서 둘의 차이도 함께 드러난다.
+ *
+ * 엔티티 경로는 요청 하나가 트랜잭션(영속성 컨텍스트) 하나를 쓰는 실제 상황과 맞추기 위해 트랜잭션 안에서 실행한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PinQueryBenchmark {
+
+    private static final double METERS_PER_DEGREE = 111_000.0;
+
+    /** 부산 시청 */
+    private static final double LATITUDE = 35.1798;
+    private static final double LONGITUDE = 129.0750;
+
+    @Param({"500", "3000"})
+    public int distanceM;
+
+    @Param({"100", "1000"})
+    public int limit;
+
+    private ConfigurableApplicationContext context;
+    private PinRepository pinRepository;
+    private PinQueryRepository pinQueryRepository;
+    private TransactionTemplate transactionTemplate;
+    private Sigungu sigungu;
+    private double deltaLat;
+    private double deltaLon;
+    private double[] center;
+    private double gridDistance;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(GeoscopeTestApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.show-sql=false", "logging.level.root=warn")
+                .run();
+        pinRepository = context.getBean(PinRepository.class);
+        pinQueryRepository = context.getBean(PinQueryRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+        sigungu = context.getBean(SggRepository.class).getReferenceById(
+                pinQueryRepository.findPage(null, 1).get(0).sigunguId()
+        );
+
+        deltaLat = distanceM / METERS_PER_DEGREE;
+        deltaLon = distanceM / (METERS_PER_DEGREE * Math.cos(Math.toRadians(LATITUDE + deltaLat)));
+        center = UtmK.project(LONGITUDE, LATITUDE);
+        gridDistance = distanceM * UtmK.scaleFactor(LONGITUDE, LATITUDE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<PinResponseDto> radiusEntity() {
+        return transactionTemplate.execute(status -> pinRepository.findWithinDistance(
+                        LONGITUDE, LATITUDE, distanceM, deltaLon, deltaLat, limit)
+                .stream()
+                .map(PinResponseDto::fromEntity)
+                .toList());
+    }
+
+    @Benchmark
+    public List<PinResponseDto> radiusProjection() {
+        return pinQueryRepository.findWithinDistance(center[0], center[1], gridDistance, limit);
+    }
+
+    @Benchmark
+    public List<PinResponseDto> sigunguEntity() {
+        return transactionTemplate.execute(status -> pinRepository.findBySigungu(sigungu)
+                .stream()
+                .map(PinResponseDto::fromEntity)
+                .toList());
+    }
+
+    @Benchmark
+    public List<PinResponseDto> sigunguProjection() {
+        return pinQueryRepository.findBySigunguId(sigungu.getId());
+    }
+}
@@ -0,0 +1,58 @@
+package com.pnu.geoscopetest.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * 읽기/쓰기 DataSource 분리 (geoscope.datasource.replica.jdbc-url 이 있을 때만)
+ *
+ * 읽기 전용 트랜잭션(@Transactional(readOnly = true))은 복제본 풀, 나머지는 주 서버 풀을 쓴다.
+ * LazyConnectionDataSourceProxy 는 실제 커넥션을 첫 쿼리 직전에 가져오므로, 트랜잭션 매니저가
+ * 커넥션에 readOnly 를 표시한 뒤 어느 풀에서 가져올지 정할 수 있다. (JPA 와 JdbcTemplate 모두 같은 경로)
+ *
+ * spring.jpa.open-in-view 는 꺼 둔다. 켜져 있으면 요청 단위 EntityManager 가 첫 트랜잭션의 커넥션을 요청 끝까지 붙잡아,
+ * 읽기 전용 조회 다음의 쓰기가 복제본 커넥션에서 실행되고 실패한다.
+ *
+ * 트랜잭션 밖의 쿼리는 주 서버로 간다. 복제본은 비동기 복제라 방금 쓴 데이터가 바로 보이지 않을 수 있다. (ReplicaLagMonitor)
+ */
+@Configuration
+@ConditionalOnProperty("geoscope.datasource.replica.jdbc-url")
+public class ReadWriteDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("geoscope.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource
+    ) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,25 @@
+package com.pnu.geoscopetest.config;
+
+import com.pnu.geoscopetest.repository.PinQueryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 리포지토리 메서드별 지연 지표
+ *
+ * Spring Data 리포지토리(PinRepository, SggRepository 등): spring.data.repository.invocations (actuator, application.yml 에서 히스토그램)
+ * JdbcTemplate 리포지토리(PinQueryRepository, PinJdbcRepository 등): geoscope.repository.invocations (RepositoryMetricsPostProcessor)
+ */
+@Configuration
+public class RepositoryMetricsConfig {
+
+    /**
+     * BeanPostProcessor 는 다른 빈보다 먼저 만들어지므로 static 으로 두고 MeterRegistry 는 처음 기록할 때 찾는다.
+     */
+    @Bean
+    public static RepositoryMetricsPostProcessor repositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new RepositoryMetricsPostProcessor(PinQueryRepository.class.getPackageName(), meterRegistry);
+    }
+}
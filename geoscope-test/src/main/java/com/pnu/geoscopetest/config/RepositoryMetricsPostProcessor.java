@@ -0,0 +1,76 @@
+package com.pnu.geoscopetest.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.framework.autoproxy.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Repository;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JdbcTemplate 리포지토리 메서드별 지연 히스토그램 (geoscope.repository.invocations)
+ *
+ * Spring Data 리포지토리는 actuator 의 spring.data.repository.invocations 가 재므로,
+ * 그 밖의 repository 패키지 @Repository 클래스(PinQueryRepository, PinJdbcRepository 등)를 같은 태그(repository, method, exception)로 잰다.
+ * 이미 @Transactional 프록시인 빈은 그 프록시에 인터셉터를 더하고, 아니면 새 프록시를 만든다.
+ * (forEach 처럼 콜백으로 결과를 넘기는 메서드는 콜백 시간까지 포함된다)
+ */
+public class RepositoryMetricsPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    private static final String METRIC_NAME = "geoscope.repository.invocations";
+
+    public RepositoryMetricsPostProcessor(String basePackage, ObjectProvider<MeterRegistry> meterRegistry) {
+        ClassFilter repositories = clazz -> clazz.isAnnotationPresent(Repository.class)
+                && clazz.getPackageName().equals(basePackage);
+        this.advisor = new DefaultPointcutAdvisor(new ComposablePointcut(repositories), new TimingInterceptor(meterRegistry));
+        // 트랜잭션 프록시 바깥에서 재서 커넥션 획득과 커밋 시간까지 포함한다.
+        setBeforeExistingAdvisors(true);
+        setProxyTargetClass(true);
+    }
+
+    private static final class TimingInterceptor implements MethodInterceptor {
+
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final Map<Method, Map<String, Timer>> timers = new ConcurrentHashMap<>();
+
+        TimingInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            long start = System.nanoTime();
+            String exception = "none";
+            try {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                exception = e.getClass().getSimpleName();
+                throw e;
+            } finally {
+                timer(invocation.getMethod(), exception).record(Duration.ofNanos(System.nanoTime() - start));
+            }
+        }
+
+        private Timer timer(Method method, String exception) {
+            return timers.computeIfAbsent(method, m -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(exception, e -> Timer.builder(METRIC_NAME)
+                            .description("JdbcTemplate 리포지토리 메서드 실행 시간")
+                            .tag("repository", method.getDeclaringClass().getSimpleName())
+                            .tag("method", method.getName())
+                            .tag("exception", e)
+                            .publishPercentileHistogram()
+                            .minimumExpectedValue(Duration.ofMillis(1))
+                            .maximumExpectedValue(Duration.ofSeconds(10))
+                            .register(meterRegistry.getObject()));
+        }
+    }
+}
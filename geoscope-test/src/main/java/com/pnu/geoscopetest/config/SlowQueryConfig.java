@@ -0,0 +1,39 @@
+package com.pnu.geoscopetest.config;
+
+import com.pnu.geoscopetest.service.SlowQueryLogger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * 느린 쿼리 로그 (geoscope.slow-query)
+ *
+ * JPA 와 JdbcTemplate 이 함께 쓰는 dataSource 빈을 SlowQueryDataSource 로 감싼다.
+ * 복제본 설정(ReadWriteDataSourceConfig)에서는 LazyConnectionDataSourceProxy 바깥을 감싸므로 두 풀의 쿼리를 모두 잰다.
+ *
+ * 리포지토리 메서드별 지연 히스토그램은 actuator 의 spring.data.repository.invocations 타이머를 쓴다. (application.yml)
+ */
+@Configuration
+@ConditionalOnProperty(value = "geoscope.slow-query.enabled", matchIfMissing = true)
+public class SlowQueryConfig {
+
+    /**
+     * BeanPostProcessor 는 다른 빈보다 먼저 만들어지므로 static 으로 두고 SlowQueryLogger 는 실행 시점에 찾는다.
+     */
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryLogger> slowQueryLogger) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                    return new SlowQueryDataSource(dataSource, slowQueryLogger);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,108 @@
+package com.pnu.geoscopetest.config;
+
+import com.pnu.geoscopetest.service.SlowQueryLogger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * PreparedStatement 실행 시간을 재서 느린 쿼리를 SlowQueryLogger 로 넘기는 DataSource
+ *
+ * prepareStatement 로 만든 문장의 set* 호출을 기록해 두었다가, execute/executeQuery/executeUpdate 가
+ * threshold 를 넘기면 SQL 과 바인딩 파라미터를 넘긴다. 그 외 호출은 그대로 위임한다.
+ * (배치 실행과 파라미터 없는 Statement 는 재지 않는다)
+ */
+public class SlowQueryDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate");
+
+    private final ObjectProvider<SlowQueryLogger> slowQueryLogger;
+
+    public SlowQueryDataSource(DataSource targetDataSource, ObjectProvider<SlowQueryLogger> slowQueryLogger) {
+        super(targetDataSource);
+        this.slowQueryLogger = slowQueryLogger;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionProxy.class.getClassLoader(),
+                new Class<?>[]{ConnectionProxy.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "getTargetConnection" -> connection;
+                    case "prepareStatement" -> wrap((PreparedStatement) invoke(connection, method, args), (String) args[0]);
+                    default -> invoke(connection, method, args);
+                }
+        );
+    }
+
+    private PreparedStatement wrap(PreparedStatement statement, String sql) {
+        Map<Integer, SlowQueryLogger.Parameter> parameters = new TreeMap<>();
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("equals")) {
+                        return proxy == args[0];
+                    } else if (name.equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    // 파라미터 setter 는 모두 (index, value, ...) 형태다. (setFetchSize 같은 설정 메서드는 인자가 하나)
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                        parameters.put(index, new SlowQueryLogger.Parameter(method, args.clone()));
+                    } else if (name.equals("clearParameters")) {
+                        parameters.clear();
+                    } else if (args == null && EXECUTE_METHODS.contains(name)) {
+                        return execute(statement, method, sql, parameters);
+                    }
+                    return invoke(statement, method, args);
+                }
+        );
+    }
+
+    private Object execute(PreparedStatement statement, Method method, String sql,
+                           Map<Integer, SlowQueryLogger.Parameter> parameters) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return invoke(statement, method, null);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            SlowQueryLogger logger = slowQueryLogger.getIfAvailable();
+            if (logger != null && logger.isSlow(elapsed)) {
+                logger.report(obtainTargetDataSource(), sql, new ArrayList<>(parameters.values()), elapsed);
+            }
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.pnu.geoscopetest.controller;
+
+import com.pnu.geoscopetest.dto.AdminAreaResponseDto;
+import com.pnu.geoscopetest.service.AdminAreaService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+public class AdminAreaController {
+    private final AdminAreaService adminAreaService;
+
+    @GetMapping("/api/admin-area")
+    public ResponseEntity<AdminAreaResponseDto> getAdminAreaByCoordinates(
+            @RequestParam(value = "lat", required = true) double latitude,
+            @RequestParam(value = "long", required = true) double longitude
+    ) {
+        var area = adminAreaService.findByCoordinates(latitude, longitude);
+        return ResponseEntity.ok(AdminAreaResponseDto.fromAdminArea(area));
+    }
+}
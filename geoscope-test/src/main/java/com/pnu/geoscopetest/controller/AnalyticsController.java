@@ -0,0 +1,56 @@
+package com.pnu.geoscopetest.controller;
+
+import com.pnu.geoscopetest.dto.PinDensityResponseDto;
+import com.pnu.geoscopetest.dto.PinHeatmapResponseDto;
+import com.pnu.geoscopetest.service.PinDensityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+    private final PinDensityService pinDensityService;
+
+    /**
+     * 행정구역별 핀 수와 밀도(핀/km²), 밀도가 높은 순서
+     */
+    @GetMapping("/density")
+    public ResponseEntity<PinDensityResponseDto> getDensity(
+            @RequestParam(value = "level", defaultValue = "sigungu") String level
+    ) {
+        return ResponseEntity.ok(pinDensityService.getDensity(parseLevel(level)));
+    }
+
+    @GetMapping("/heatmap")
+    public ResponseEntity<PinHeatmapResponseDto> getHeatmap(
+            @RequestParam(value = "min_lat", defaultValue = "-90") double minLatitude,
+            @RequestParam(value = "min_long", defaultValue = "-180") double minLongitude,
+            @RequestParam(value = "max_lat", defaultValue = "90") double maxLatitude,
+            @RequestParam(value = "max_long", defaultValue = "180") double maxLongitude
+    ) {
+        return ResponseEntity.ok(pinDensityService.getHeatmap(minLatitude, minLongitude, maxLatitude, maxLongitude));
+    }
+
+    /**
+     * 증분 카운터를 버리고 전체를 다시 계산한다.
+     */
+    @PostMapping("/density/refresh")
+    public ResponseEntity<Void> refreshDensity() {
+        pinDensityService.recompute();
+        return ResponseEntity.noContent().build();
+    }
+
+    private static PinDensityService.Level parseLevel(String level) {
+        try {
+            return PinDensityService.Level.valueOf(level.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "지원하지 않는 집계 단위입니다: " + level);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.pnu.geoscopetest.controller;
+
+import com.pnu.geoscopetest.service.BoundaryShapeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+@RestController
+@RequiredArgsConstructor
+public class BoundaryController {
+    private static final MediaType GEO_JSON = MediaType.parseMediaType("application/geo+json");
+
+    private final BoundaryShapeService boundaryShapeService;
+
+    /**
+     * 줌에 맞게 단순화한 경계 GeoJSON
+     *
+     * gzip 을 받는 클라이언트(Accept-Encoding 의 gzip 또는 * 의 q 가 0 보다 큼)에는 미리 압축해 둔 바이트를 그대로 보낸다.
+     */
+    @GetMapping("/api/boundaries/{layer}")
+    public ResponseEntity<byte[]> getBoundaries(
+            @PathVariable("layer") String layer,
+            @RequestParam(value = "zoom", required = true) int zoom,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request
+    ) {
+        var shapes = boundaryShapeService.get(parseLayer(layer), zoom);
+        boolean gzip = acceptsGzip(acceptEncoding);
+        // 인코딩이 다르면 다른 표현이므로 강한 ETag 도 구분한다.
+        String etag = "\"" + shapes.hash() + (gzip ? "-gz" : "") + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        var response = ResponseEntity.ok()
+                .contentType(GEO_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(shapes.gzip());
+        }
+        return response.body(decompress(shapes.gzip()));
+    }
+
+    /**
+     * Accept-Encoding 목록에서 gzip(x-gzip) 의 q 값을 본다. gzip 이 없으면 * 의 q 값을 따른다.
+     * q 가 없으면 1, 읽을 수 없으면 0 으로 본다.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQ = null;
+        Double anyQ = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.length() > 2 && (param.charAt(0) == 'q' || param.charAt(0) == 'Q') && param.charAt(1) == '=') {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQ = gzipQ == null ? q : Math.max(gzipQ, q);
+            } else if (coding.equals("*")) {
+                anyQ = q;
+            }
+        }
+        if (gzipQ != null) {
+            return gzipQ > 0;
+        }
+        return anyQ != null && anyQ > 0;
+    }
+
+    private static BoundaryShapeService.Layer parseLayer(String layer) {
+        try {
+            return BoundaryShapeService.Layer.valueOf(layer.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "지원하지 않는 경계입니다: " + layer);
+        }
+    }
+
+    private static byte[] decompress(byte[] gzip) {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.pnu.geoscopetest.controller;
+
+import com.pnu.geoscopetest.dto.CreateGeofenceRequestDto;
+import com.pnu.geoscopetest.dto.GeofenceResponseDto;
+import com.pnu.geoscopetest.service.GeofenceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/geofences")
+@RequiredArgsConstructor
+public class GeofenceController {
+    private final GeofenceService geofenceService;
+
+    @PostMapping
+    public ResponseEntity<GeofenceResponseDto> addGeofence(
+            @RequestBody CreateGeofenceRequestDto dto
+    ) {
+        var fence = geofenceService.register(dto);
+        return ResponseEntity.ok(GeofenceResponseDto.fromFence(fence));
+    }
+
+    /**
+     * client_id 의 펜스 안에 새 핀이 저장되면 "pin" 이벤트로 보낸다.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(
+            @RequestParam(value = "client_id", required = true) String clientId
+    ) {
+        return geofenceService.subscribe(clientId);
+    }
+
+    /**
+     * 펜스를 등록한 client_id 로만 지울 수 있다.
+     */
+    @DeleteMapping("{id}")
+    public ResponseEntity<Void> deleteGeofence(
+            @PathVariable("id") UUID id,
+            @RequestParam(value = "client_id", required = true) String clientId
+    ) {
+        geofenceService.delete(id, clientId);
+        return ResponseEntity.noContent().build();
+    }
+}
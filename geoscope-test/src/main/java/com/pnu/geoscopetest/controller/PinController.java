@@ -1,12 +1,30 @@
 package com.pnu.geoscopetest.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.pnu.geoscopetest.dto.CreatePinRequestDto;
+import com.pnu.geoscopetest.dto.PinDedupStatusDto;
+import com.pnu.geoscopetest.dto.PinIndexStatsDto;
+import com.pnu.geoscopetest.dto.PinPageDto;
 import com.pnu.geoscopetest.dto.PinResponseDto;
+import com.pnu.geoscopetest.dto.PinViewportResponseDto;
+import com.pnu.geoscopetest.service.PinDedupService;
+import com.pnu.geoscopetest.service.PinExportService;
+import com.pnu.geoscopetest.service.PinImportService;
+import com.pnu.geoscopetest.service.PinIndexService;
+import com.pnu.geoscopetest.service.PinSearchService;
 import com.pnu.geoscopetest.service.PinService;
+import com.pnu.geoscopetest.service.PinViewportService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,47 +32,177 @@ import java.util.UUID;
 @RequestMapping("/api/pins")
 @RequiredArgsConstructor
 public class PinController {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final PinService pinService;
+    private final PinImportService pinImportService;
+    private final PinExportService pinExportService;
+    private final PinViewportService pinViewportService;
+    private final PinIndexService pinIndexService;
+    private final PinSearchService pinSearchService;
+    private final PinDedupService pinDedupService;
 
+    /**
+     * 핀 저장. dedup(off / merge / reject)을 주지 않으면 geoscope.pin-dedup.default-mode 를 따른다.
+     * merge 는 중복 핀이 있으면 그 핀을 돌려주고, reject 는 409 로 거절한다.
+     */
     @PostMapping
     public ResponseEntity<PinResponseDto> addPin(
-        @RequestBody CreatePinRequestDto dto
+        @RequestBody CreatePinRequestDto dto,
+        @RequestParam(value = "dedup", required = false) String dedup
     ) {
-        var pin = pinService.save(dto.name(), dto.latitude(), dto.longitude());
-        return ResponseEntity.ok(PinResponseDto.fromEntity(pin));
+        var mode = pinDedupService.resolveMode(dedup);
+        return ResponseEntity.ok(pinService.save(dto.name(), dto.latitude(), dto.longitude(), mode));
+    }
+
+    /**
+     * 핀 대량 임포트 (CSV: name,latitude,longitude)
+     *
+     * 실패한 행, 배치별 진행 상황, 최종 요약이 NDJSON 으로 내려간다.
+     */
+    @PostMapping(value = "/import", consumes = "text/csv", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importPinsCsv(
+            HttpServletRequest request,
+            @RequestParam(value = "dedup", required = false) String dedup
+    ) throws IOException {
+        var mode = pinDedupService.resolveMode(dedup);
+        InputStream in = request.getInputStream();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> pinImportService.importCsv(in, out, mode));
     }
 
+    /**
+     * 핀 대량 임포트 (GeoJSON FeatureCollection, Point feature, properties.name)
+     */
+    @PostMapping(value = "/import",
+            consumes = {"application/geo+json", MediaType.APPLICATION_JSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importPinsGeoJson(
+            HttpServletRequest request,
+            @RequestParam(value = "dedup", required = false) String dedup
+    ) throws IOException {
+        var mode = pinDedupService.resolveMode(dedup);
+        InputStream in = request.getInputStream();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> pinImportService.importGeoJson(in, out, mode));
+    }
+
+    /**
+     * 핀 목록 (키셋 페이지네이션). 응답 본문은 예전처럼 핀 배열이고,
+     * 다음 페이지가 있으면 X-Next-Cursor 헤더 값을 다음 요청의 after 로 넘긴다. (마지막 페이지면 헤더가 없다)
+     */
     @GetMapping
-    public ResponseEntity<List<PinResponseDto>> getPins() {
-        return ResponseEntity.ok(pinService.findAll()
-                .stream()
-                .map(PinResponseDto::fromEntity)
-                .toList()
-        );
+    public ResponseEntity<List<PinResponseDto>> getPins(
+            @RequestParam(value = "after", required = false) UUID after,
+            @RequestParam(value = "size", defaultValue = "100") int size
+    ) {
+        PinPageDto page = pinService.findPage(after, size);
+        var response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor().toString());
+        }
+        return response.body(page.pins());
+    }
+
+    /**
+     * 핀 전체 내보내기. 한 줄에 핀 하나씩 NDJSON 으로 내려간다.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPins() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(pinExportService::export);
     }
 
     @GetMapping("/distance")
     public ResponseEntity<List<PinResponseDto>> getPinsWithinDistance(
             @RequestParam(value = "lat", required = true) double latitude,
             @RequestParam(value = "long", required = true) double longitude,
-            @RequestParam(value = "km", required = true) double distanceKm
+            @RequestParam(value = "km", required = true) double distanceKm,
+            @RequestParam(value = "limit", defaultValue = "100") int limit
+    ) {
+        return ResponseEntity.ok(pinService.findWithInDistanceKm(latitude, longitude, distanceKm, limit));
+    }
+
+    @GetMapping("/nearest")
+    public ResponseEntity<List<PinResponseDto>> getNearestPins(
+            @RequestParam(value = "lat", required = true) double latitude,
+            @RequestParam(value = "long", required = true) double longitude,
+            @RequestParam(value = "k", defaultValue = "10") int k
+    ) {
+        return ResponseEntity.ok(pinService.findNearest(latitude, longitude, k));
+    }
+
+    /**
+     * 폴리곤(GeoJSON Polygon / MultiPolygon 또는 Feature) 안의 핀
+     */
+    @PostMapping(value = "/search/polygon", consumes = {"application/geo+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<List<PinResponseDto>> searchInPolygon(
+            @RequestBody JsonNode geometry,
+            @RequestParam(value = "limit", defaultValue = "100") int limit
+    ) {
+        return ResponseEntity.ok(pinSearchService.findInPolygon(geometry, limit));
+    }
+
+    /**
+     * 경로(GeoJSON LineString 또는 Feature)에서 meters 이내의 핀. 경로 진행 순서로 정렬된다.
+     */
+    @PostMapping(value = "/search/route", consumes = {"application/geo+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<List<PinResponseDto>> searchAlongRoute(
+            @RequestBody JsonNode route,
+            @RequestParam(value = "meters", required = true) double meters,
+            @RequestParam(value = "limit", defaultValue = "100") int limit
+    ) {
+        return ResponseEntity.ok(pinSearchService.findAlongRoute(route, meters, limit));
+    }
+
+    /**
+     * 지도 화면 범위 조회. 낮은 줌에서는 클러스터, 높은 줌에서는 개별 핀을 반환한다.
+     */
+    @GetMapping("/viewport")
+    public ResponseEntity<PinViewportResponseDto> getPinsInViewport(
+            @RequestParam(value = "min_lat", required = true) double minLatitude,
+            @RequestParam(value = "min_long", required = true) double minLongitude,
+            @RequestParam(value = "max_lat", required = true) double maxLatitude,
+            @RequestParam(value = "max_long", required = true) double maxLongitude,
+            @RequestParam(value = "zoom", required = true) int zoom
     ) {
-        return ResponseEntity.ok(pinService.findWithInDistanceKm(latitude, longitude, distanceKm)
-                .stream()
-                .map(PinResponseDto::fromEntity)
-                .toList()
-        );
+        return ResponseEntity.ok(pinViewportService.findInViewport(
+                minLatitude, minLongitude, maxLatitude, maxLongitude, zoom
+        ));
+    }
+
+    /**
+     * 이미 저장된 중복 핀 정리를 백그라운드로 시작한다. 진행 상황은 GET 으로 본다.
+     */
+    @PostMapping("/dedup")
+    public ResponseEntity<PinDedupStatusDto> startDedup() {
+        if (!pinDedupService.startCollapse()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "중복 정리가 이미 실행 중입니다.");
+        }
+        return ResponseEntity.accepted().body(pinDedupService.getStatus());
+    }
+
+    @GetMapping("/dedup")
+    public ResponseEntity<PinDedupStatusDto> getDedupStatus() {
+        return ResponseEntity.ok(pinDedupService.getStatus());
+    }
+
+    /**
+     * 핀 메모리 인덱스 상태와 대략적인 메모리 사용량
+     */
+    @GetMapping("/index")
+    public ResponseEntity<PinIndexStatsDto> getIndexStats() {
+        return ResponseEntity.ok(pinIndexService.getStats());
     }
 
     @GetMapping("/sgg")
     public ResponseEntity<List<PinResponseDto>> getPinsBySigunguId(
             @RequestParam(value = "sggId", required = true) Long sigunguId
     ) {
-        return ResponseEntity.ok(pinService.findBySigunguId(sigunguId)
-                .stream()
-                .map(PinResponseDto::fromEntity)
-                .toList()
-        );
+        return ResponseEntity.ok(pinService.findBySigunguId(sigunguId));
     }
 
     @DeleteMapping("{id}")
@@ -1,15 +1,29 @@
 package com.pnu.geoscopetest.controller;
 
+import com.pnu.geoscopetest.dto.CoordinateDto;
 import com.pnu.geoscopetest.dto.SggResponseDto;
+import com.pnu.geoscopetest.service.BoundaryIndexService;
+import com.pnu.geoscopetest.service.BoundaryShapeService;
+import com.pnu.geoscopetest.service.SggBatchService;
 import com.pnu.geoscopetest.service.SggService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
 public class SggController {
     private final SggService sggService;
+    private final BoundaryIndexService boundaryIndexService;
+    private final BoundaryShapeService boundaryShapeService;
+    private final SggBatchService sggBatchService;
 
     @GetMapping("/api/sgg")
     public ResponseEntity<SggResponseDto> getSggByCoordinates(
@@ -19,4 +33,47 @@ public class SggController {
         var sgg = sggService.findByCoordinates(latitude, longitude);
         return ResponseEntity.ok(SggResponseDto.fromEntity(sgg));
     }
+
+    /**
+     * 일괄 역지오코딩 (JSON 배열 입력)
+     *
+     * 결과는 입력 순서대로 한 줄에 하나씩 NDJSON 으로 내려간다.
+     */
+    @PostMapping(value = "/api/sgg/batch",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getSggBatch(
+            @RequestBody List<CoordinateDto> coordinates
+    ) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> sggBatchService.resolve(coordinates, out));
+    }
+
+    /**
+     * 일괄 역지오코딩 (NDJSON 입력)
+     *
+     * 입력을 읽는 대로 처리하므로 입력 크기와 관계없이 메모리 사용량이 일정하다.
+     */
+    @PostMapping(value = "/api/sgg/batch",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getSggBatchNdjson(
+            HttpServletRequest request
+    ) throws IOException {
+        InputStream in = request.getInputStream();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> sggBatchService.resolveNdjson(in, out));
+    }
+
+    /**
+     * 경계 테이블을 다시 임포트한 뒤 메모리 인덱스와 단순화 경계를 새로 만든다.
+     */
+    @PostMapping("/api/sgg/index/refresh")
+    public ResponseEntity<Void> refreshIndex() {
+        boundaryIndexService.refresh();
+        boundaryShapeService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
 }
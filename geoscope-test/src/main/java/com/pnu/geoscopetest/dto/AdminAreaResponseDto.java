@@ -0,0 +1,31 @@
+package com.pnu.geoscopetest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.pnu.geoscopetest.spatial.AdminArea;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record AdminAreaResponseDto(
+        String sidoCode,
+        String sidoName,
+        Long sigunguId,
+        String sggCode,
+        String sggName,
+        Long dongId,
+        String admCode,
+        String admName
+) {
+
+    public static AdminAreaResponseDto fromAdminArea(AdminArea area) {
+        return new AdminAreaResponseDto(
+                area.sido() != null ? area.sido().getSidoCode() : area.sigungu().getSidoCode(),
+                area.sido() != null ? area.sido().getSidoName() : area.sigungu().getSidoName(),
+                area.sigungu() != null ? area.sigungu().getId() : null,
+                area.sigungu() != null ? area.sigungu().getSggCode() : null,
+                area.sigungu() != null ? area.sigungu().getSggName() : null,
+                area.dong() != null ? area.dong().getId() : null,
+                area.dong() != null ? area.dong().getAdmCode() : null,
+                area.dong() != null ? area.dong().getAdmName() : null
+        );
+    }
+}
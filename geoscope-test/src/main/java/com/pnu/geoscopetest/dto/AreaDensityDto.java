@@ -0,0 +1,15 @@
+package com.pnu.geoscopetest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record AreaDensityDto(
+        Long id,
+        String code,
+        String name,
+        long pins,
+        double areaKm2,
+        double densityPerKm2
+) {
+}
@@ -0,0 +1,12 @@
+package com.pnu.geoscopetest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record CoordinateDto(
+        Double latitude,
+        Double longitude
+) {
+
+}
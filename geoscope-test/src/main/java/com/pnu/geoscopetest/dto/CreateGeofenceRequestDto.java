@@ -0,0 +1,19 @@
+package com.pnu.geoscopetest.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+/**
+ * 원형 펜스는 latitude / longitude / radius_m, 폴리곤 펜스는 geometry(GeoJSON Polygon / MultiPolygon) 를 채운다.
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record CreateGeofenceRequestDto(
+        String clientId,
+        Double latitude,
+        Double longitude,
+        Double radiusM,
+        JsonNode geometry
+) {
+
+}
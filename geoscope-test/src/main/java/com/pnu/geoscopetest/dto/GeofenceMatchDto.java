@@ -0,0 +1,16 @@
+package com.pnu.geoscopetest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.util.UUID;
+
+/**
+ * 펜스 안에 새 핀이 생겼을 때 SSE 로 보내는 이벤트
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record GeofenceMatchDto(
+        UUID fenceId,
+        PinResponseDto pin
+) {
+}
@@ -0,0 +1,22 @@
+package com.pnu.geoscopetest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.pnu.geoscopetest.spatial.Geofence;
+
+import java.util.UUID;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record GeofenceResponseDto(
+        UUID id,
+        String clientId,
+        String type
+) {
+    public static GeofenceResponseDto fromFence(Geofence fence) {
+        return new GeofenceResponseDto(
+                fence.id(),
+                fence.clientId(),
+                fence instanceof Geofence.Circle ? "circle" : "polygon"
+        );
+    }
+}
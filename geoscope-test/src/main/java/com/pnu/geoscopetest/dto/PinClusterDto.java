@@ -0,0 +1,16 @@
+package com.pnu.geoscopetest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+/**
+ * 격자 한 칸에 모인 핀 묶음 (중심은 칸 안 핀들의 평균 좌표)
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record PinClusterDto(
+        double latitude,
+        double longitude,
+        long count
+) {
+
+}
@@ -0,0 +1,21 @@
+package com.pnu.geoscopetest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.time.Instant;
+
+/**
+ * 기존 핀 중복 정리 작업 상태. 아직 실행한 적이 없으면 started_at 이 null 이다.
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record PinDedupStatusDto(
+        boolean running,
+        int sigunguTotal,
+        int sigunguDone,
+        long removed,
+        double snapDistanceM,
+        Instant startedAt,
+        Instant finishedAt
+) {
+}
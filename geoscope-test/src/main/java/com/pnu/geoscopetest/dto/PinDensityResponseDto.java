@@ -0,0 +1,18 @@
+package com.pnu.geoscopetest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 행정구역별 핀 수와 밀도. computed_at 은 마지막 전체 재계산 시각이며, 그 뒤의 저장/삭제는 증분으로 반영되어 있다.
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record PinDensityResponseDto(
+        String level,
+        Instant computedAt,
+        List<AreaDensityDto> areas
+) {
+}
@@ -0,0 +1,16 @@
+package com.pnu.geoscopetest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.util.List;
+
+/**
+ * 격자 칸(cell_size 도)별 핀 수. 각 칸의 좌표는 칸의 중심이다.
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record PinHeatmapResponseDto(
+        double cellSize,
+        List<PinClusterDto> cells
+) {
+}
@@ -0,0 +1,36 @@
+package com.pnu.geoscopetest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+/**
+ * 대량 임포트 진행 상황 한 줄 (NDJSON)
+ *
+ * type 은 error(실패한 행), progress(배치 저장 후), summary(마지막 줄) 중 하나다.
+ * merged 는 dedup=merge 일 때 기존 핀(또는 같은 파일의 앞 행)과 중복이라 저장하지 않은 행 수이다.
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PinImportEventDto(
+        String type,
+        Long row,
+        String message,
+        long processed,
+        long imported,
+        long merged,
+        long failed
+) {
+
+    public static PinImportEventDto error(long row, String message, long processed, long imported, long merged, long failed) {
+        return new PinImportEventDto("error", row, message, processed, imported, merged, failed);
+    }
+
+    public static PinImportEventDto progress(long processed, long imported, long merged, long failed) {
+        return new PinImportEventDto("progress", null, null, processed, imported, merged, failed);
+    }
+
+    public static PinImportEventDto summary(long processed, long imported, long merged, long failed) {
+        return new PinImportEventDto("summary", null, null, processed, imported, merged, failed);
+    }
+}
@@ -0,0 +1,15 @@
+package com.pnu.geoscopetest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record PinIndexStatsDto(
+        boolean enabled,
+        boolean ready,
+        int pins,
+        int cells,
+        double cellSize,
+        long estimatedBytes
+) {
+}
@@ -0,0 +1,18 @@
+package com.pnu.geoscopetest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 키셋 페이지. nextCursor 를 다음 요청의 after 로 넘긴다. (마지막 페이지면 null)
+ * 컨트롤러는 pins 를 배열 그대로 내리고 nextCursor 는 X-Next-Cursor 헤더로 보낸다.
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record PinPageDto(
+        List<PinResponseDto> pins,
+        UUID nextCursor
+) {
+}
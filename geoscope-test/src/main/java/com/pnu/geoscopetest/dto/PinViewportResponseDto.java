@@ -0,0 +1,22 @@
+package com.pnu.geoscopetest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.util.List;
+
+/**
+ * 지도 화면 범위의 핀
+ *
+ * 낮은 줌에서는 clusters 만, 높은 줌에서는 pins 만 채워진다.
+ * truncated 는 응답 크기 제한 때문에 일부가 빠졌음을 뜻한다.
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record PinViewportResponseDto(
+        int zoom,
+        List<PinClusterDto> clusters,
+        List<PinResponseDto> pins,
+        boolean truncated
+) {
+
+}
@@ -0,0 +1,20 @@
+package com.pnu.geoscopetest.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+/**
+ * 일괄 역지오코딩 결과 한 건
+ *
+ * 시군구를 찾지 못하면 sgg 가 null, 해당 좌표 처리에 실패하면 error 에 사유가 담긴다.
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record SggBatchResultDto(
+        long index,
+        Double latitude,
+        Double longitude,
+        SggResponseDto sgg,
+        String error
+) {
+
+}
@@ -0,0 +1,37 @@
+package com.pnu.geoscopetest.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.geolatte.geom.MultiPolygon;
+
+@Entity
+@Table(name = "hangjungdong")
+@Getter
+@Setter
+@RequiredArgsConstructor
+public class Hangjungdong {
+    @Id
+    private Long id;
+
+    @Column(name = "adm_nm")
+    private String admName;
+    @Column(name = "adm_cd")
+    private String admCode;
+    @Column(name = "adm_cd2")
+    private String admCode2;
+
+    @Column(name = "sido")
+    private String sidoCode;
+    @Column(name = "sgg")
+    private String sggCode;
+
+    @Column(name = "sidonm")
+    private String sidoName;
+    @Column(name = "sggnm")
+    private String sggName;
+
+    @Column(name = "geom", columnDefinition = "geometry(MultiPolygon, 4326)")
+    private MultiPolygon area;
+}
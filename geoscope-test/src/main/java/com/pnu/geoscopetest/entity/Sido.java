@@ -0,0 +1,25 @@
+package com.pnu.geoscopetest.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.geolatte.geom.MultiPolygon;
+
+@Entity
+@Table(name = "sido_boundary")
+@Getter
+@Setter
+@RequiredArgsConstructor
+public class Sido {
+    @Id
+    private Long id;
+
+    @Column(name = "sido_code")
+    private String sidoCode;
+    @Column(name = "sido_name")
+    private String sidoName;
+
+    @Column(name = "geom", columnDefinition = "geometry(MultiPolygon, 4326)")
+    private MultiPolygon area;
+}
@@ -0,0 +1,10 @@
+package com.pnu.geoscopetest.event;
+
+/**
+ * 행정경계 메모리 인덱스가 새로 만들어졌을 때 발행된다.
+ * 경계에 따라 핀을 나눈 집계 등은 이 이벤트를 받아 다시 계산한다.
+ */
+public record BoundaryIndexRefreshedEvent(
+        int sigunguCount
+) {
+}
@@ -0,0 +1,20 @@
+package com.pnu.geoscopetest.event;
+
+import java.util.UUID;
+
+/**
+ * 핀 한 건이 저장되거나 삭제되었을 때 발행된다.
+ * 타일 캐시 등 핀 위치에 의존하는 메모리 상태를 갱신하는 데 사용한다.
+ */
+public record PinChangedEvent(
+        Type type,
+        UUID id,
+        String name,
+        double latitude,
+        double longitude,
+        Long sigunguId
+) {
+    public enum Type {
+        SAVED, DELETED
+    }
+}
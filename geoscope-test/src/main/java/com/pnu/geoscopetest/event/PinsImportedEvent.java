@@ -0,0 +1,13 @@
+package com.pnu.geoscopetest.event;
+
+import com.pnu.geoscopetest.repository.PinJdbcRepository;
+
+import java.util.List;
+
+/**
+ * 대량 임포트에서 한 배치가 저장되었을 때 발행된다.
+ */
+public record PinsImportedEvent(
+        List<PinJdbcRepository.NewPin> pins
+) {
+}
@@ -0,0 +1,52 @@
+package com.pnu.geoscopetest.importer;
+
+import com.pnu.geoscopetest.service.BoundaryImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 경계 임포트 명령
+ *
+ * ./gradlew bootRun --args='--geoscope.boundary-import.file=data/HangJeongDong_ver20250401.geojson --spring.main.web-application-type=none'
+ *
+ * 행정동 GeoJSON 을 임포트하고 시군구/시도 경계를 만든 뒤 종료한다. (postgis-sqls 의 Python 임포터 대체)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty("geoscope.boundary-import.file")
+public class BoundaryImportRunner implements ApplicationRunner {
+
+    private final BoundaryImportService boundaryImportService;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${geoscope.boundary-import.file}")
+    private Path file;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        int exitCode = 0;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+            var result = boundaryImportService.importHangjungdong(in);
+            log.info("행정동 {}건 (실패 {}건), 시군구 {}건, 시도 {}건, {}ms",
+                    result.dongs(), result.failed(), result.sigungus(), result.sidos(), result.elapsedMs());
+        } catch (Exception e) {
+            log.error("경계 임포트 실패: {}", file, e);
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+}
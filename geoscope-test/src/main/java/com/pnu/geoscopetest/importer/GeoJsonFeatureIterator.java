@@ -0,0 +1,65 @@
+package com.pnu.geoscopetest.importer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * GeoJSON FeatureCollection 의 feature 를 한 건씩 읽는다.
+ *
+ * Jackson 스트리밍 파서로 features 배열까지 이동한 뒤 feature 하나만 트리로 읽으므로
+ * 파일 크기와 관계없이 메모리 사용량은 가장 큰 feature 하나 정도다.
+ */
+public class GeoJsonFeatureIterator implements Iterator<JsonNode> {
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private boolean hasNext;
+
+    public GeoJsonFeatureIterator(ObjectMapper objectMapper, InputStream in) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.getFactory().createParser(in);
+        this.hasNext = moveToFeatures() && parser.nextToken() == JsonToken.START_OBJECT;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    @Override
+    public JsonNode next() {
+        if (!hasNext) {
+            throw new NoSuchElementException();
+        }
+        try {
+            JsonNode feature = objectMapper.readTree(parser);
+            hasNext = parser.nextToken() == JsonToken.START_OBJECT;
+            return feature;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean moveToFeatures() throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("GeoJSON FeatureCollection 객체가 아닙니다.");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("features".equals(field) && value == JsonToken.START_ARRAY) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,18 @@
+package com.pnu.geoscopetest.importer;
+
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * 행정동 GeoJSON feature 한 건 (hangjungdong 테이블의 한 행, Polygon 또는 MultiPolygon)
+ */
+public record HangjungdongFeature(
+        String admName,
+        String admCode,
+        String admCode2,
+        String sidoCode,
+        String sggCode,
+        String sidoName,
+        String sggName,
+        Geometry geometry
+) {
+}
@@ -0,0 +1,114 @@
+package com.pnu.geoscopetest.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * name,latitude,longitude 형식의 CSV 를 한 행씩 읽는다.
+ *
+ * 첫 행이 헤더(숫자가 아닌 위도)면 건너뛴다. 큰따옴표로 감싼 이름 안의 쉼표를 허용한다.
+ */
+public class PinCsvReader implements Iterator<PinImportRow> {
+
+    private final BufferedReader reader;
+    private long row = 0;
+    private String nextLine;
+
+    public PinCsvReader(InputStream in) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        advance();
+        if (nextLine != null && isHeader(nextLine)) {
+            advance();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextLine != null;
+    }
+
+    @Override
+    public PinImportRow next() {
+        if (nextLine == null) {
+            throw new NoSuchElementException();
+        }
+        String line = nextLine;
+        long current = row;
+        advance();
+        return parse(current, line);
+    }
+
+    private void advance() {
+        try {
+            do {
+                nextLine = reader.readLine();
+                row++;
+            } while (nextLine != null && nextLine.isBlank());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static PinImportRow parse(long row, String line) {
+        List<String> fields = split(line);
+        if (fields.size() < 3) {
+            return PinImportRow.invalid(row, "name,latitude,longitude 세 열이 필요합니다.");
+        }
+        try {
+            return new PinImportRow(
+                    row,
+                    fields.get(0),
+                    Double.parseDouble(fields.get(1).trim()),
+                    Double.parseDouble(fields.get(2).trim()),
+                    null
+            );
+        } catch (NumberFormatException e) {
+            return PinImportRow.invalid(row, "좌표가 숫자가 아닙니다: " + e.getMessage());
+        }
+    }
+
+    private static boolean isHeader(String line) {
+        List<String> fields = split(line);
+        if (fields.size() < 2) {
+            return false;
+        }
+        try {
+            Double.parseDouble(fields.get(1).trim());
+            return false;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private static List<String> split(String line) {
+        List<String> fields = new ArrayList<>(3);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
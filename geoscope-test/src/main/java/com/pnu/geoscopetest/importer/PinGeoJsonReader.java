@@ -0,0 +1,53 @@
+package com.pnu.geoscopetest.importer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * GeoJSON FeatureCollection 의 Point feature 를 한 건씩 읽는다. (GeoJsonFeatureIterator)
+ *
+ * 파일 크기와 관계없이 메모리 사용량이 일정하다. 이름은 properties.name 을 사용한다.
+ */
+public class PinGeoJsonReader implements Iterator<PinImportRow> {
+
+    private final GeoJsonFeatureIterator features;
+    private long row = 0;
+
+    public PinGeoJsonReader(ObjectMapper objectMapper, InputStream in) throws IOException {
+        this.features = new GeoJsonFeatureIterator(objectMapper, in);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return features.hasNext();
+    }
+
+    @Override
+    public PinImportRow next() {
+        row++;
+        return toRow(row, features.next());
+    }
+
+    private static PinImportRow toRow(long row, JsonNode feature) {
+        JsonNode geometry = feature.path("geometry");
+        if (!"Point".equals(geometry.path("type").asText())) {
+            return PinImportRow.invalid(row, "Point geometry 가 아닙니다.");
+        }
+        JsonNode coordinates = geometry.path("coordinates");
+        if (!coordinates.path(0).isNumber() || !coordinates.path(1).isNumber()) {
+            return PinImportRow.invalid(row, "좌표가 올바르지 않습니다.");
+        }
+        JsonNode name = feature.path("properties").path("name");
+        return new PinImportRow(
+                row,
+                name.isMissingNode() || name.isNull() ? null : name.asText(),
+                coordinates.get(1).asDouble(),
+                coordinates.get(0).asDouble(),
+                null
+        );
+    }
+}
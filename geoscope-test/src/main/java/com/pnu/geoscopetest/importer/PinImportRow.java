@@ -0,0 +1,17 @@
+package com.pnu.geoscopetest.importer;
+
+/**
+ * 입력 파일의 핀 한 행. 읽기에 실패한 행은 error 에 사유가 담긴다.
+ */
+public record PinImportRow(
+        long row,
+        String name,
+        Double latitude,
+        Double longitude,
+        String error
+) {
+
+    public static PinImportRow invalid(long row, String error) {
+        return new PinImportRow(row, null, null, null, error);
+    }
+}
@@ -0,0 +1,121 @@
+package com.pnu.geoscopetest.repository;
+
+import com.pnu.geoscopetest.importer.HangjungdongFeature;
+import lombok.RequiredArgsConstructor;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.WKBWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 경계 데이터 쓰기 (JDBC batch, 지오메트리는 WKB)
+ *
+ * 시군구/시도는 코드 기준 upsert 라 id 가 유지된다. (pin.sigungu_id 가 시군구 id 를 참조한다)
+ */
+@Repository
+@RequiredArgsConstructor
+public class BoundaryImportJdbcRepository {
+
+    public record DissolvedSigungu(String sidoCode, String sggCode, String sidoName, String sggName, Geometry geometry) {
+    }
+
+    public record DissolvedSido(String sidoCode, String sidoName, Geometry geometry) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void deleteAllHangjungdong() {
+        jdbcTemplate.update("DELETE FROM hangjungdong");
+    }
+
+    public void insertHangjungdongBatch(List<HangjungdongFeature> dongs) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO hangjungdong (adm_nm, adm_cd, adm_cd2, sido, sgg, sidonm, sggnm, geom)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ST_Multi(ST_GeomFromWKB(?, 4326)))
+                """, dongs, dongs.size(), (ps, dong) -> {
+            ps.setString(1, dong.admName());
+            ps.setString(2, dong.admCode());
+            ps.setString(3, dong.admCode2());
+            ps.setString(4, dong.sidoCode());
+            ps.setString(5, dong.sggCode());
+            ps.setString(6, dong.sidoName());
+            ps.setString(7, dong.sggName());
+            ps.setBytes(8, toWkb(dong.geometry()));
+        });
+    }
+
+    public void upsertSigungu(List<DissolvedSigungu> sigungus) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO sigungu (sido, sgg, sidonm, sggnm, geom)
+                VALUES (?, ?, ?, ?, ST_Multi(ST_GeomFromWKB(?, 4326)))
+                ON CONFLICT (sido, sgg) DO UPDATE SET
+                    sidonm = EXCLUDED.sidonm,
+                    sggnm = EXCLUDED.sggnm,
+                    geom = EXCLUDED.geom,
+                    updated_at = NOW()
+                """, sigungus, sigungus.size(), (ps, sgg) -> {
+            ps.setString(1, sgg.sidoCode());
+            ps.setString(2, sgg.sggCode());
+            ps.setString(3, sgg.sidoName());
+            ps.setString(4, sgg.sggName());
+            ps.setBytes(5, toWkb(sgg.geometry()));
+        });
+    }
+
+    public void upsertSido(List<DissolvedSido> sidos) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO sido_boundary (sido_code, sido_name, geom)
+                VALUES (?, ?, ST_Multi(ST_GeomFromWKB(?, 4326)))
+                ON CONFLICT (sido_code) DO UPDATE SET
+                    sido_name = EXCLUDED.sido_name,
+                    geom = EXCLUDED.geom,
+                    updated_at = NOW()
+                """, sidos, sidos.size(), (ps, sido) -> {
+            ps.setString(1, sido.sidoCode());
+            ps.setString(2, sido.sidoName());
+            ps.setBytes(3, toWkb(sido.geometry()));
+        });
+    }
+
+    /**
+     * 이미 저장한 행정동으로 시군구 하나를 DB 에서 다시 dissolve 한다. (입력이 코드 순서가 아닐 때)
+     */
+    public void redissolveSigungu(String sidoCode, String sggCode) {
+        jdbcTemplate.update("""
+                INSERT INTO sigungu (sido, sgg, sidonm, sggnm, geom)
+                SELECT sido, sgg, max(sidonm), max(sggnm), ST_Multi(ST_CollectionExtract(ST_Union(geom), 3))
+                FROM hangjungdong
+                WHERE sido = ? AND sgg = ?
+                GROUP BY sido, sgg
+                ON CONFLICT (sido, sgg) DO UPDATE SET
+                    sidonm = EXCLUDED.sidonm,
+                    sggnm = EXCLUDED.sggnm,
+                    geom = EXCLUDED.geom,
+                    updated_at = NOW()
+                """, sidoCode, sggCode);
+    }
+
+    /**
+     * 이번에 임포트한 행정동이 있는 시군구로 시도 하나를 DB 에서 다시 dissolve 한다.
+     */
+    public void redissolveSido(String sidoCode) {
+        jdbcTemplate.update("""
+                INSERT INTO sido_boundary (sido_code, sido_name, geom)
+                SELECT s.sido, max(s.sidonm), ST_Multi(ST_CollectionExtract(ST_Union(s.geom), 3))
+                FROM sigungu s
+                WHERE s.sido = ?
+                  AND EXISTS (SELECT 1 FROM hangjungdong h WHERE h.sido = s.sido AND h.sgg = s.sgg)
+                GROUP BY s.sido
+                ON CONFLICT (sido_code) DO UPDATE SET
+                    sido_name = EXCLUDED.sido_name,
+                    geom = EXCLUDED.geom,
+                    updated_at = NOW()
+                """, sidoCode);
+    }
+
+    private static byte[] toWkb(Geometry geometry) {
+        return new WKBWriter().write(geometry);
+    }
+}
@@ -0,0 +1,20 @@
+package com.pnu.geoscopetest.repository;
+
+import com.pnu.geoscopetest.entity.Hangjungdong;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Transactional(readOnly = true)
+public interface HangjungdongRepository extends JpaRepository<Hangjungdong, Long> {
+    @Query("""
+        SELECT h FROM Hangjungdong h
+        WHERE ST_Contains(
+                h.area, ST_SetSRID(ST_MakePoint(:long, :lat), 4326)
+        )
+    """)
+    Optional<Hangjungdong> findByLocation(@Param("lat") double latitude, @Param("long") double longitude);
+}
@@ -0,0 +1,199 @@
+package com.pnu.geoscopetest.repository;
+
+import com.pnu.geoscopetest.dto.PinClusterDto;
+import com.pnu.geoscopetest.dto.PinResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * 핀 대량 처리용 JDBC 저장소 (엔티티/영속성 컨텍스트를 거치지 않는다)
+ *
+ * 중복 판정은 방금 저장한 핀도 봐야 하므로 읽기 전용 트랜잭션(복제본)이 아니라 주 서버에서 한다.
+ * 중복 조건: 이름이 같고(앞뒤 공백, 대소문자 무시) UTM-K 평면 거리 snapDistance 이내
+ */
+@Repository
+@RequiredArgsConstructor
+public class PinJdbcRepository {
+
+    public record NewPin(UUID id, String name, double longitude, double latitude, Long sigunguId) {
+    }
+
+    /** id 의 핀과 중복인, id 가 더 작은 핀 duplicateOf */
+    public record DuplicatePair(UUID id, UUID duplicateOf) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * JDBC batch insert. 드라이버의 reWriteBatchedInserts 설정으로 다중 VALUES 한 문장으로 전송된다.
+     */
+    public void insertBatch(List<NewPin> pins) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO pin (id, name, location, sigungu_id)
+                VALUES (?, ?, ST_SetSRID(ST_MakePoint(?, ?), 4326), ?)
+                """, pins, pins.size(), (ps, pin) -> {
+            ps.setObject(1, pin.id());
+            ps.setString(2, pin.name());
+            ps.setDouble(3, pin.longitude());
+            ps.setDouble(4, pin.latitude());
+            ps.setLong(5, pin.sigunguId());
+        });
+    }
+
+    /**
+     * 중복 핀 한 건 (가장 가까운 것)
+     *
+     * ST_DWithin 으로 location_5179 인덱스 탐색 범위를 snapDistance 로 묶고, <-> 순서로 첫 건만 읽는다.
+     */
+    public Optional<PinResponseDto> findDuplicate(double easting, double northing, String name, double snapDistance) {
+        return jdbcTemplate.query("""
+                SELECT p.id, p.name, ST_Y(p.location) AS lat, ST_X(p.location) AS lon, p.sigungu_id
+                FROM pin p
+                WHERE ST_DWithin(p.location_5179, ST_SetSRID(ST_MakePoint(?, ?), 5179), ?)
+                  AND lower(btrim(p.name)) IS NOT DISTINCT FROM lower(btrim(?))
+                ORDER BY p.location_5179 <-> ST_SetSRID(ST_MakePoint(?, ?), 5179)
+                LIMIT 1
+                """, PinQueryRepository.PIN_ROW_MAPPER,
+                easting, northing, snapDistance, name, easting, northing
+        ).stream().findFirst();
+    }
+
+    /**
+     * pins 중 이미 저장된 핀과 중복인 것의 위치(0부터)
+     *
+     * 배치 전체를 배열 파라미터로 한 번에 보내고, 행마다 location_5179 인덱스로 snapDistance 안만 찾는다.
+     * eastings / northings 는 pins 와 같은 순서의 UTM-K 좌표이다.
+     */
+    public Set<Integer> findDuplicateIndexes(List<NewPin> pins, double[] eastings, double[] northings, double snapDistance) {
+        Double[] e = new Double[pins.size()];
+        Double[] n = new Double[pins.size()];
+        String[] names = new String[pins.size()];
+        for (int i = 0; i < pins.size(); i++) {
+            e[i] = eastings[i];
+            n[i] = northings[i];
+            names[i] = pins.get(i).name();
+        }
+        Set<Integer> duplicates = new HashSet<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    SELECT c.ord
+                    FROM unnest(?::float8[], ?::float8[], ?::text[]) WITH ORDINALITY AS c(easting, northing, name, ord)
+                    WHERE EXISTS (
+                        SELECT 1 FROM pin p
+                        WHERE ST_DWithin(p.location_5179, ST_SetSRID(ST_MakePoint(c.easting, c.northing), 5179), ?)
+                          AND lower(btrim(p.name)) IS NOT DISTINCT FROM lower(btrim(c.name))
+                    )
+                    """);
+            ps.setArray(1, con.createArrayOf("float8", e));
+            ps.setArray(2, con.createArrayOf("float8", n));
+            ps.setArray(3, con.createArrayOf("text", names));
+            ps.setDouble(4, snapDistance);
+            return ps;
+        }, (RowCallbackHandler) rs -> duplicates.add(rs.getInt(1) - 1));
+        return duplicates;
+    }
+
+    /**
+     * 핀이 있는 시군구 id (중복 정리 배치 단위)
+     */
+    public List<Long> findSigunguIdsWithPins() {
+        return jdbcTemplate.queryForList(
+                "SELECT s.id FROM sigungu s WHERE EXISTS (SELECT 1 FROM pin p WHERE p.sigungu_id = s.id) ORDER BY s.id",
+                Long.class);
+    }
+
+    /**
+     * 시군구 하나의 핀 p 와, 이름이 같고 snapDistance 안에 있는 id 가 더 작은 핀 q 의 쌍 (중복 정리 후보)
+     *
+     * q 는 시군구로 제한하지 않으므로 경계를 사이에 둔 중복도 고른다. 어느 핀을 지울지는 모든 쌍을 모은 뒤
+     * id 순서로 정한다. (PinDedupService)
+     */
+    public List<DuplicatePair> findDuplicatePairsInSigungu(long sigunguId, double snapDistance) {
+        return jdbcTemplate.query("""
+                SELECT p.id, q.id AS duplicate_of
+                FROM pin p
+                JOIN pin q
+                  ON ST_DWithin(q.location_5179, p.location_5179, ?)
+                 AND lower(btrim(q.name)) IS NOT DISTINCT FROM lower(btrim(p.name))
+                 AND q.id < p.id
+                WHERE p.sigungu_id = ?
+                """, (rs, rowNum) -> new DuplicatePair(
+                rs.getObject("id", UUID.class),
+                rs.getObject("duplicate_of", UUID.class)
+        ), snapDistance, sigunguId);
+    }
+
+    /**
+     * id 의 핀을 지우고 지운 핀을 돌려준다. (이미 지워진 id 는 건너뛴다)
+     */
+    public List<NewPin> deleteByIds(List<UUID> ids) {
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    DELETE FROM pin
+                    WHERE id = ANY(?::uuid[])
+                    RETURNING id, name, ST_X(location) AS lon, ST_Y(location) AS lat, sigungu_id
+                    """);
+            ps.setArray(1, con.createArrayOf("uuid", ids.toArray()));
+            return ps;
+        }, (rs, rowNum) -> new NewPin(
+                rs.getObject("id", UUID.class),
+                rs.getString("name"),
+                rs.getDouble("lon"),
+                rs.getDouble("lat"),
+                rs.getLong("sigungu_id")
+        ));
+    }
+
+    /**
+     * 범위 안의 핀을 cellSize(도) 격자로 묶어 칸마다 개수와 평균 좌표를 구한다.
+     * location && ST_MakeEnvelope 로 GiST 인덱스를 사용한다.
+     */
+    public List<PinClusterDto> findClusters(
+            double minLon, double minLat, double maxLon, double maxLat, double cellSize, int limit
+    ) {
+        return jdbcTemplate.query("""
+                SELECT AVG(ST_Y(location)) AS lat, AVG(ST_X(location)) AS lon, COUNT(*) AS cnt
+                FROM pin
+                WHERE location && ST_MakeEnvelope(?, ?, ?, ?, 4326)
+                GROUP BY FLOOR(ST_X(location) / ?), FLOOR(ST_Y(location) / ?)
+                ORDER BY cnt DESC
+                LIMIT ?
+                """, (rs, rowNum) -> new PinClusterDto(
+                rs.getDouble("lat"), rs.getDouble("lon"), rs.getLong("cnt")
+        ), minLon, minLat, maxLon, maxLat, cellSize, cellSize, limit);
+    }
+
+    /**
+     * 전체 핀을 순방향 커서로 fetchSize 건씩 읽어 하나씩 넘긴다. 결과 전체를 메모리에 올리지 않는다.
+     * PostgreSQL 드라이버는 autocommit 이 꺼져 있어야 커서를 쓰므로 트랜잭션 안에서 읽는다.
+     */
+    @Transactional(readOnly = true)
+    public void forEach(int fetchSize, Consumer<NewPin> action) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    SELECT id, name, ST_X(location) AS lon, ST_Y(location) AS lat, sigungu_id
+                    FROM pin
+                    """, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            return ps;
+        }, (RowCallbackHandler) rs -> action.accept(new NewPin(
+                rs.getObject("id", UUID.class),
+                rs.getString("name"),
+                rs.getDouble("lon"),
+                rs.getDouble("lat"),
+                rs.getLong("sigungu_id")
+        )));
+    }
+}
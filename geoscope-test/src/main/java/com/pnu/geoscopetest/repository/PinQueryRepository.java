@@ -0,0 +1,143 @@
+package com.pnu.geoscopetest.repository;
+
+import com.pnu.geoscopetest.dto.PinResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 핀 조회 전용 JDBC 저장소
+ *
+ * id, name, ST_X, ST_Y, sigungu_id 만 읽어 PinResponseDto 로 바로 만든다.
+ * 엔티티, JTS Point, Sigungu 프록시와 영속성 컨텍스트를 거치지 않는다.
+ * 거리 조건은 UTM-K(5179) 그림자 컬럼(location_5179, postgis-sqls/sql/add_utmk_geometry_columns.sql)을 쓴다.
+ */
+@Repository
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PinQueryRepository {
+
+    private static final String COLUMNS = "p.id, p.name, ST_Y(p.location) AS lat, ST_X(p.location) AS lon, p.sigungu_id";
+
+    static final RowMapper<PinResponseDto> PIN_ROW_MAPPER = (rs, rowNum) -> new PinResponseDto(
+            rs.getObject("id", UUID.class),
+            rs.getString("name"),
+            rs.getDouble("lat"),
+            rs.getDouble("lon"),
+            rs.getLong("sigungu_id")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 키셋 페이지네이션. id(PK) 인덱스를 따라 읽으므로 몇 번째 페이지든 비용이 같다.
+     */
+    public List<PinResponseDto> findPage(UUID after, int limit) {
+        if (after == null) {
+            return jdbcTemplate.query(
+                    "SELECT " + COLUMNS + " FROM pin p ORDER BY p.id LIMIT ?",
+                    PIN_ROW_MAPPER, limit);
+        }
+        return jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM pin p WHERE p.id > ? ORDER BY p.id LIMIT ?",
+                PIN_ROW_MAPPER, after, limit);
+    }
+
+    /**
+     * 반경 검색
+     *
+     * UTM-K(5179) 그림자 컬럼의 평면 거리로 거른다. 행마다 geography 로 변환해 구면 거리를 계산하지 않고,
+     * ST_DWithin 과 <-> 모두 location_5179 의 GiST 인덱스를 쓴다.
+     * 중심은 호출하는 쪽에서 UTM-K 로 투영하고, gridDistance 는 축척 계수를 곱한 평면 거리로 넘긴다.
+     */
+    public List<PinResponseDto> findWithinDistance(double easting, double northing, double gridDistance, int limit) {
+        return jdbcTemplate.query("""
+                SELECT p.id, p.name, ST_Y(p.location) AS lat, ST_X(p.location) AS lon, p.sigungu_id
+                FROM pin p
+                WHERE ST_DWithin(p.location_5179, ST_SetSRID(ST_MakePoint(?, ?), 5179), ?)
+                ORDER BY p.location_5179 <-> ST_SetSRID(ST_MakePoint(?, ?), 5179)
+                LIMIT ?
+                """, PIN_ROW_MAPPER,
+                easting, northing, gridDistance,
+                easting, northing,
+                limit);
+    }
+
+    /**
+     * 가까운 핀 K 개
+     *
+     * UTM-K 평면에서는 좁은 범위의 거리 순서가 실제 거리 순서와 같으므로,
+     * location_5179 의 <-> 인덱스 순서 그대로 K 개만 읽으면 된다. (후보를 더 읽어 다시 정렬할 필요가 없다)
+     */
+    public List<PinResponseDto> findNearest(double easting, double northing, int k) {
+        return jdbcTemplate.query("""
+                SELECT p.id, p.name, ST_Y(p.location) AS lat, ST_X(p.location) AS lon, p.sigungu_id
+                FROM pin p
+                ORDER BY p.location_5179 <-> ST_SetSRID(ST_MakePoint(?, ?), 5179)
+                LIMIT ?
+                """, PIN_ROW_MAPPER, easting, northing, k);
+    }
+
+    /**
+     * 폴리곤 안의 핀
+     *
+     * 폴리곤을 ST_Subdivide 로 꼭짓점 maxVertices 개 이하의 조각으로 나누면 조각마다 사각형이 작아져
+     * && 비교가 GiST 인덱스로 후보를 잘 좁힌다. 조각 경계 위의 핀은 두 조각에 걸리므로 id 로 중복을 없앤다.
+     */
+    public List<PinResponseDto> findInArea(byte[] areaWkb, int maxVertices, int limit) {
+        return jdbcTemplate.query("""
+                WITH area AS (
+                    SELECT ST_Subdivide(ST_GeomFromWKB(?, 4326), ?) AS geom
+                )
+                SELECT DISTINCT ON (p.id) p.id, p.name, ST_Y(p.location) AS lat, ST_X(p.location) AS lon, p.sigungu_id
+                FROM area a
+                JOIN pin p ON p.location && a.geom AND ST_Intersects(a.geom, p.location)
+                LIMIT ?
+                """, PIN_ROW_MAPPER, areaWkb, maxVertices, limit);
+    }
+
+    /**
+     * 경로(LineString)에서 gridDistance 이내의 핀을 경로 진행 순서로
+     *
+     * 경로와 통로(corridor)는 호출하는 쪽에서 UTM-K(5179)로 투영/버퍼링해 넘긴다.
+     * 통로를 조각으로 나눠 location_5179 인덱스로 후보를 찾고, 같은 평면에서 ST_DWithin 으로 정확히 거른다.
+     */
+    public List<PinResponseDto> findAlongRoute(byte[] routeWkb, byte[] corridorWkb, double gridDistance, int maxVertices, int limit) {
+        return jdbcTemplate.query("""
+                WITH route AS (
+                    SELECT ST_GeomFromWKB(?, 5179) AS geom
+                ), corridor AS (
+                    SELECT ST_Subdivide(ST_GeomFromWKB(?, 5179), ?) AS geom
+                ), candidate AS (
+                    SELECT DISTINCT ON (p.id) p.id, p.name, p.location, p.location_5179, p.sigungu_id
+                    FROM corridor c
+                    JOIN pin p ON p.location_5179 && c.geom AND ST_Intersects(c.geom, p.location_5179)
+                )
+                SELECT p.id, p.name, ST_Y(p.location) AS lat, ST_X(p.location) AS lon, p.sigungu_id
+                FROM candidate p, route r
+                WHERE ST_DWithin(p.location_5179, r.geom, ?)
+                ORDER BY ST_LineLocatePoint(r.geom, p.location_5179)
+                LIMIT ?
+                """, PIN_ROW_MAPPER, routeWkb, corridorWkb, maxVertices, gridDistance, limit);
+    }
+
+    public List<PinResponseDto> findBySigunguId(long sigunguId) {
+        return jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM pin p WHERE p.sigungu_id = ?",
+                PIN_ROW_MAPPER, sigunguId);
+    }
+
+    public List<PinResponseDto> findInBox(double minLon, double minLat, double maxLon, double maxLat, int limit) {
+        return jdbcTemplate.query("""
+                SELECT p.id, p.name, ST_Y(p.location) AS lat, ST_X(p.location) AS lon, p.sigungu_id
+                FROM pin p
+                WHERE p.location && ST_MakeEnvelope(?, ?, ?, ?, 4326)
+                LIMIT ?
+                """, PIN_ROW_MAPPER, minLon, minLat, maxLon, maxLat, limit);
+    }
+}
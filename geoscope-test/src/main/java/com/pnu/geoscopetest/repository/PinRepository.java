@@ -5,18 +5,39 @@ import com.pnu.geoscopetest.entity.Sigungu;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
 
 public interface PinRepository extends JpaRepository<Pin, UUID> {
+    @Transactional(readOnly = true)
     List<Pin> findBySigungu(Sigungu sigungu);
 
+    /**
+     * 반경 검색
+     *
+     * 먼저 중심점을 경도/위도 방향으로 각각 확장한 사각형과 location 을 && 로 비교해 GiST 인덱스로 후보를 좁히고,
+     * 후보에 대해서만 geography 거리 계산(ST_DWithin)을 한다. 결과는 가까운 순서로 limit 건까지 반환한다.
+     */
     @Query(value = """
         SELECT * FROM pin p
-        WHERE ST_Distance(
-            p.location::geography, ST_SetSRID(ST_MakePoint(:longitude, :latitude)::geography, 4326)
-        ) < :distanceKm * 1000
+        WHERE p.location && ST_Expand(ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326), :deltaLon, :deltaLat)
+          AND ST_DWithin(
+            p.location::geography, ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326)::geography, :distanceM
+          )
+        ORDER BY ST_Distance(
+            p.location::geography, ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326)::geography
+        )
+        LIMIT :limit
     """, nativeQuery = true)
-    List<Pin> findByDistanceKm(@Param("longitude") double longitude, @Param("latitude") double latitude, @Param("distanceKm") double distanceKm);
+    @Transactional(readOnly = true)
+    List<Pin> findWithinDistance(
+            @Param("longitude") double longitude,
+            @Param("latitude") double latitude,
+            @Param("distanceM") double distanceM,
+            @Param("deltaLon") double deltaLon,
+            @Param("deltaLat") double deltaLat,
+            @Param("limit") int limit
+    );
 }
@@ -5,9 +5,11 @@ import com.pnu.geoscopetest.entity.Sigungu;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
+@Transactional(readOnly = true)
 public interface SggRepository extends JpaRepository<Sigungu, Long> {
     @Query("""
         SELECT s FROM Sigungu s
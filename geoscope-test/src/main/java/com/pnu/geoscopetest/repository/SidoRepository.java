@@ -0,0 +1,20 @@
+package com.pnu.geoscopetest.repository;
+
+import com.pnu.geoscopetest.entity.Sido;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Transactional(readOnly = true)
+public interface SidoRepository extends JpaRepository<Sido, Long> {
+    @Query("""
+        SELECT s FROM Sido s
+        WHERE ST_Contains(
+                s.area, ST_SetSRID(ST_MakePoint(:long, :lat), 4326)
+        )
+    """)
+    Optional<Sido> findByLocation(@Param("lat") double latitude, @Param("long") double longitude);
+}
@@ -0,0 +1,79 @@
+package com.pnu.geoscopetest.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * PostGIS ST_AsMVT 로 Mapbox Vector Tile 을 만든다.
+ *
+ * 레이어별로 따로 만든 MVT 는 이어 붙이면 여러 레이어를 가진 하나의 타일이 된다. (protobuf repeated layers)
+ * 경계는 줌에 맞는 허용오차로 단순화한 뒤 타일 범위로 잘라낸다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TileJdbcRepository {
+
+    private static final String BOUNDARY_LAYER_SQL = """
+            WITH bounds AS (
+                SELECT ST_TileEnvelope(?, ?, ?) AS geom
+            ), mvt AS (
+                SELECT %1$s,
+                       ST_AsMVTGeom(
+                           ST_SimplifyPreserveTopology(ST_Transform(t.geom, 3857), ?),
+                           bounds.geom, 4096, 64, true
+                       ) AS geom
+                FROM %2$s t, bounds
+                WHERE t.geom && ST_Transform(bounds.geom, 4326)
+            )
+            SELECT ST_AsMVT(mvt.*, '%2$s', 4096, 'geom') FROM mvt WHERE mvt.geom IS NOT NULL
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(readOnly = true)
+    public byte[] findSigunguLayer(int z, int x, int y) {
+        return boundaryLayer("t.id, t.sido, t.sgg, t.sidonm, t.sggnm", "sigungu", z, x, y);
+    }
+
+    @Transactional(readOnly = true)
+    public byte[] findHangjungdongLayer(int z, int x, int y) {
+        return boundaryLayer("t.id, t.adm_cd, t.adm_nm, t.sgg", "hangjungdong", z, x, y);
+    }
+
+    /**
+     * 핀 레이어는 핀 변경 직후 캐시를 비우고 다시 만들므로 복제본이 아니라 주 서버에서 읽는다.
+     * (복제 지연 중에 복제본에서 읽으면 변경 전 타일이 다시 캐시된다)
+     */
+    public byte[] findPinLayer(int z, int x, int y, int limit) {
+        byte[] tile = jdbcTemplate.queryForObject("""
+                WITH bounds AS (
+                    SELECT ST_TileEnvelope(?, ?, ?) AS geom
+                ), mvt AS (
+                    SELECT p.id::text AS id, p.name, p.sigungu_id,
+                           ST_AsMVTGeom(ST_Transform(p.location, 3857), bounds.geom, 4096, 64, true) AS geom
+                    FROM pin p, bounds
+                    WHERE p.location && ST_Transform(bounds.geom, 4326)
+                    LIMIT ?
+                )
+                SELECT ST_AsMVT(mvt.*, 'pin', 4096, 'geom') FROM mvt
+                """, byte[].class, z, x, y, limit);
+        return tile == null ? new byte[0] : tile;
+    }
+
+    private byte[] boundaryLayer(String columns, String table, int z, int x, int y) {
+        byte[] tile = jdbcTemplate.queryForObject(
+                BOUNDARY_LAYER_SQL.formatted(columns, table),
+                byte[].class, z, x, y, simplifyTolerance(z)
+        );
+        return tile == null ? new byte[0] : tile;
+    }
+
+    /**
+     * 타일 한 변(m)을 4096 으로 나눈 값 = 타일 해상도 한 칸. 그보다 작은 굴곡은 보이지 않으므로 단순화해도 된다.
+     */
+    private static double simplifyTolerance(int z) {
+        return 40_075_016.686 / (1L << z) / 4096;
+    }
+}
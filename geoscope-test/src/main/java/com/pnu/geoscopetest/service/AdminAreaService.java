@@ -0,0 +1,41 @@
+package com.pnu.geoscopetest.service;
+
+import com.pnu.geoscopetest.repository.HangjungdongRepository;
+import com.pnu.geoscopetest.repository.SggRepository;
+import com.pnu.geoscopetest.repository.SidoRepository;
+import com.pnu.geoscopetest.spatial.AdminArea;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+@Service
+@RequiredArgsConstructor
+public class AdminAreaService {
+    private final BoundaryIndexService boundaryIndexService;
+    private final SidoRepository sidoRepository;
+    private final SggRepository sggRepository;
+    private final HangjungdongRepository hangjungdongRepository;
+
+    /**
+     * 좌표의 시도 / 시군구 / 행정동
+     *
+     * 메모리 계층 인덱스에서 찾고, 인덱스가 아직 준비되지 않았으면 단계별 DB 조회로 대신한다.
+     */
+    public AdminArea findByCoordinates(double latitude, double longitude) {
+        AdminArea area = boundaryIndexService.isReady()
+                ? boundaryIndexService.findAdminArea(latitude, longitude)
+                : new AdminArea(
+                        sidoRepository.findByLocation(latitude, longitude).orElse(null),
+                        sggRepository.findByLocation(latitude, longitude).orElse(null),
+                        hangjungdongRepository.findByLocation(latitude, longitude).orElse(null)
+                );
+
+        if (area.sido() == null && area.sigungu() == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    "해당 위치에 해당하는 행정구역을 찾을 수 없습니다."
+            );
+        }
+        return area;
+    }
+}
@@ -0,0 +1,232 @@
+package com.pnu.geoscopetest.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pnu.geoscopetest.importer.GeoJsonFeatureIterator;
+import com.pnu.geoscopetest.importer.HangjungdongFeature;
+import com.pnu.geoscopetest.repository.BoundaryImportJdbcRepository;
+import com.pnu.geoscopetest.repository.BoundaryImportJdbcRepository.DissolvedSido;
+import com.pnu.geoscopetest.repository.BoundaryImportJdbcRepository.DissolvedSigungu;
+import com.pnu.geoscopetest.spatial.GeoJsonDecoder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.util.GeometryFixer;
+import org.locationtech.jts.operation.union.UnaryUnionOp;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * 행정동 GeoJSON → hangjungdong / sigungu / sido_boundary 임포트
+ *
+ * feature 를 스트리밍으로 읽어 행정동은 배치로 바로 저장한다. 원본은 adm_cd 순서라 같은 시군구의 행정동이 이어지므로,
+ * 시군구 코드가 바뀔 때마다 모아 둔 행정동을 unary union 해 시군구 경계를 저장하고(최대 PARALLELISM 개를 동시에),
+ * 시도 코드가 바뀔 때마다 그 시도의 시군구를 union 해 시도 경계를 저장한다.
+ * 그래서 메모리에는 계산 중인 시군구 몇 개와 현재 시도의 시군구 경계만 남는다. (파일 크기와 무관)
+ * 순서가 어긋나 이미 저장한 시군구/시도가 다시 나오면, 마지막에 저장된 행정동으로 DB 에서 다시 dissolve 한다.
+ * 전체가 한 트랜잭션이라 실패하면 기존 경계가 그대로 남는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BoundaryImportService {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    public record Result(int dongs, int failed, int sigungus, int sidos, long elapsedMs) {
+    }
+
+    private record SigunguKey(String sidoCode, String sggCode, String sidoName, String sggName) {
+    }
+
+    private final BoundaryImportJdbcRepository boundaryImportJdbcRepository;
+    private final ObjectMapper objectMapper;
+    private final GeometryFactory geometryFactory;
+
+    @Transactional
+    public Result importHangjungdong(InputStream in) throws IOException {
+        long start = System.currentTimeMillis();
+        boundaryImportJdbcRepository.deleteAllHangjungdong();
+
+        Dissolver dissolver = new Dissolver();
+        List<HangjungdongFeature> batch = new ArrayList<>(BATCH_SIZE);
+        int dongs = 0;
+        int failed = 0;
+
+        GeoJsonFeatureIterator features = new GeoJsonFeatureIterator(objectMapper, in);
+        while (features.hasNext()) {
+            HangjungdongFeature dong;
+            try {
+                dong = toFeature(features.next());
+            } catch (IllegalArgumentException e) {
+                failed++;
+                log.warn("행정동 feature 를 건너뜁니다: {}", e.getMessage());
+                continue;
+            }
+            batch.add(dong);
+            if (dong.sidoCode() != null && dong.sggCode() != null) {
+                dissolver.add(new SigunguKey(dong.sidoCode(), dong.sggCode(), dong.sidoName(), dong.sggName()), dong.geometry());
+            }
+            if (batch.size() == BATCH_SIZE) {
+                boundaryImportJdbcRepository.insertHangjungdongBatch(batch);
+                dongs += batch.size();
+                batch.clear();
+                log.info("행정동 저장 중: {}건", dongs);
+            }
+        }
+        if (!batch.isEmpty()) {
+            boundaryImportJdbcRepository.insertHangjungdongBatch(batch);
+            dongs += batch.size();
+        }
+        dissolver.finish();
+
+        Result result = new Result(dongs, failed, dissolver.sigungus.size(), dissolver.sidos.size(),
+                System.currentTimeMillis() - start);
+        log.info("경계 임포트 완료: {}", result);
+        return result;
+    }
+
+    /**
+     * 입력 순서대로 들어오는 행정동을 시군구/시도 단위로 dissolve 해 저장한다.
+     * union 은 ForkJoinPool 에서 하고 저장은 트랜잭션이 묶인 호출 스레드에서 한다.
+     */
+    private final class Dissolver {
+
+        private record Pending(SigunguKey key, ForkJoinTask<Geometry> union) {
+        }
+
+        private final Deque<Pending> pending = new ArrayDeque<>();
+        private final Set<SigunguKey> sigungus = new HashSet<>();
+        private final Set<String> sidos = new HashSet<>();
+        private final Set<SigunguKey> lateSigungus = new LinkedHashSet<>();
+        private final Set<String> lateSidos = new LinkedHashSet<>();
+
+        private SigunguKey currentKey;
+        private List<Geometry> currentDongs;
+        private String currentSido;
+        private String currentSidoName;
+        private final List<Geometry> currentSidoSigungus = new ArrayList<>();
+
+        void add(SigunguKey key, Geometry dong) {
+            if (key.equals(currentKey)) {
+                currentDongs.add(dong);
+                return;
+            }
+            flushSigungu();
+            if (!key.sidoCode().equals(currentSido)) {
+                flushSido();
+                currentSido = key.sidoCode();
+                currentSidoName = key.sidoName();
+                if (!sidos.add(currentSido)) {
+                    lateSidos.add(currentSido);
+                }
+            }
+            if (!sigungus.add(key)) {
+                // 이미 저장한 시군구. 행정동은 저장되므로 마지막에 DB 에서 다시 dissolve 한다.
+                lateSigungus.add(key);
+                lateSidos.add(key.sidoCode());
+                return;
+            }
+            currentKey = key;
+            currentDongs = new ArrayList<>();
+            currentDongs.add(dong);
+        }
+
+        void finish() {
+            flushSido();
+            for (SigunguKey key : lateSigungus) {
+                boundaryImportJdbcRepository.redissolveSigungu(key.sidoCode(), key.sggCode());
+            }
+            for (String sidoCode : lateSidos) {
+                boundaryImportJdbcRepository.redissolveSido(sidoCode);
+            }
+            if (!lateSigungus.isEmpty() || !lateSidos.isEmpty()) {
+                log.warn("입력이 행정동 코드 순서가 아니라 시군구 {}개, 시도 {}개를 다시 dissolve 했습니다.",
+                        lateSigungus.size(), lateSidos.size());
+            }
+        }
+
+        private void flushSigungu() {
+            if (currentKey == null) {
+                return;
+            }
+            List<Geometry> dongs = currentDongs;
+            pending.add(new Pending(currentKey, ForkJoinPool.commonPool().submit(() -> UnaryUnionOp.union(dongs))));
+            currentKey = null;
+            currentDongs = null;
+            while (pending.size() > PARALLELISM) {
+                saveOldest();
+            }
+        }
+
+        private void saveOldest() {
+            Pending oldest = pending.poll();
+            Geometry geometry = oldest.union().join();
+            SigunguKey key = oldest.key();
+            boundaryImportJdbcRepository.upsertSigungu(List.of(new DissolvedSigungu(
+                    key.sidoCode(), key.sggCode(), key.sidoName(), key.sggName(), geometry
+            )));
+            currentSidoSigungus.add(geometry);
+        }
+
+        private void flushSido() {
+            flushSigungu();
+            while (!pending.isEmpty()) {
+                saveOldest();
+            }
+            if (currentSido != null && !currentSidoSigungus.isEmpty() && !lateSidos.contains(currentSido)) {
+                boundaryImportJdbcRepository.upsertSido(List.of(new DissolvedSido(
+                        currentSido, currentSidoName, UnaryUnionOp.union(currentSidoSigungus)
+                )));
+            }
+            currentSidoSigungus.clear();
+        }
+    }
+
+    private HangjungdongFeature toFeature(JsonNode feature) {
+        JsonNode properties = feature.path("properties");
+        String admName = text(properties, "adm_nm");
+        if (admName == null) {
+            throw new IllegalArgumentException("adm_nm 이 없습니다.");
+        }
+        Geometry geometry = GeoJsonDecoder.readGeometry(feature.get("geometry"), geometryFactory);
+        if (!(geometry instanceof Polygon) && !(geometry instanceof MultiPolygon)) {
+            throw new IllegalArgumentException(admName + ": Polygon 또는 MultiPolygon 이 아닙니다.");
+        }
+        if (!geometry.isValid()) {
+            // 자기 교차 등이 있으면 union 에서 TopologyException 이 나므로 미리 고친다.
+            geometry = GeometryFixer.fix(geometry);
+        }
+        return new HangjungdongFeature(
+                admName,
+                text(properties, "adm_cd"),
+                text(properties, "adm_cd2"),
+                text(properties, "sido"),
+                text(properties, "sgg"),
+                text(properties, "sidonm"),
+                text(properties, "sggnm"),
+                geometry
+        );
+    }
+
+    private static String text(JsonNode properties, String field) {
+        JsonNode value = properties.path(field);
+        return value.isMissingNode() || value.isNull() || value.asText().isBlank() ? null : value.asText();
+    }
+}
@@ -0,0 +1,139 @@
+package com.pnu.geoscopetest.service;
+
+import com.pnu.geoscopetest.entity.Sigungu;
+import com.pnu.geoscopetest.event.BoundaryIndexRefreshedEvent;
+import com.pnu.geoscopetest.repository.BoundaryJdbcRepository;
+import com.pnu.geoscopetest.spatial.AdminArea;
+import com.pnu.geoscopetest.spatial.AdminAreaIndex;
+import com.pnu.geoscopetest.spatial.PolygonIndex;
+import com.pnu.geoscopetest.spatial.QuantizedCellCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * 행정경계 메모리 인덱스
+ *
+ * 기동 시 시도/시군구/행정동 경계를 한 번 읽어 STR-tree 로 만들고, 좌표 → 행정구역 조회를 DB 없이 처리한다.
+ * 경계 테이블을 다시 임포트했으면 refresh() 로 인덱스를 새로 만든다.
+ *
+ * 시군구 조회는 좌표를 격자 칸으로 양자화해 캐시한다. 칸 전체가 한 시군구 안에 있을 때만 답을 캐시하고,
+ * 경계에 걸친 칸은 "경계 칸" 으로만 기록해 매번 점 단위로 찾으므로 경계 근처에서도 결과가 정확하다.
+ */
+@Slf4j
+@Service
+public class BoundaryIndexService {
+
+    private static final String CACHE_NAME = "sgg-cell";
+
+    private final BoundaryJdbcRepository boundaryJdbcRepository;
+    private final GeometryFactory geometryFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    /** 값이 비어 있으면 경계에 걸친 칸이다. */
+    private final QuantizedCellCache<Optional<Sigungu>> sigunguCells;
+
+    private volatile AdminAreaIndex adminAreaIndex;
+
+    public BoundaryIndexService(
+            BoundaryJdbcRepository boundaryJdbcRepository,
+            GeometryFactory geometryFactory,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${geoscope.sgg-cache.cell-size:0.001}") double cellSize,
+            @Value("${geoscope.sgg-cache.max-cells:200000}") int maxCells
+    ) {
+        this.boundaryJdbcRepository = boundaryJdbcRepository;
+        this.geometryFactory = geometryFactory;
+        this.eventPublisher = eventPublisher;
+        this.sigunguCells = new QuantizedCellCache<>(cellSize, maxCells);
+
+        // Micrometer 캐시 지표 이름(cache.gets / cache.evictions / cache.size)을 따른다.
+        FunctionCounter.builder("cache.gets", sigunguCells, QuantizedCellCache::hitCount)
+                .tags("cache", CACHE_NAME, "result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", sigunguCells, QuantizedCellCache::missCount)
+                .tags("cache", CACHE_NAME, "result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", sigunguCells, QuantizedCellCache::evictionCount)
+                .tags("cache", CACHE_NAME)
+                .register(meterRegistry);
+        Gauge.builder("cache.size", sigunguCells, QuantizedCellCache::size)
+                .tags("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            // 인덱스가 없으면 SggService 가 DB 조회로 대신한다.
+            log.warn("행정경계 인덱스를 만들지 못했습니다. DB 조회로 대체합니다.", e);
+        }
+    }
+
+    public synchronized void refresh() {
+        long start = System.currentTimeMillis();
+        AdminAreaIndex index = AdminAreaIndex.build(
+                optional("sido_boundary", boundaryJdbcRepository::findAllSido),
+                boundaryJdbcRepository.findAllSigungu(),
+                optional("hangjungdong", boundaryJdbcRepository::findAllHangjungdong),
+                geometryFactory
+        );
+        this.adminAreaIndex = index;
+        sigunguCells.reset(index);
+        log.info("행정경계 인덱스 생성: 시군구 {}건, {}ms", index.size(), System.currentTimeMillis() - start);
+        eventPublisher.publishEvent(new BoundaryIndexRefreshedEvent(index.size()));
+    }
+
+    public boolean isReady() {
+        return adminAreaIndex != null;
+    }
+
+    /**
+     * 좌표가 속한 시군구. 인덱스가 준비되지 않았으면 호출하지 않는다. (isReady 확인)
+     */
+    public Optional<Sigungu> findSigungu(double latitude, double longitude) {
+        AdminAreaIndex index = adminAreaIndex;
+        long key = sigunguCells.cellKey(longitude, latitude);
+        Optional<Sigungu> cell = sigunguCells.get(key);
+        if (cell == null) {
+            double[] bounds = sigunguCells.cellBounds(key);
+            cell = index.locateSigunguContaining(new Envelope(bounds[0], bounds[2], bounds[1], bounds[3]));
+            sigunguCells.put(index, key, cell);
+        }
+        return cell.isPresent() ? cell : index.locateSigungu(longitude, latitude);
+    }
+
+    /**
+     * 좌표의 시도 / 시군구 / 행정동. 인덱스가 준비되지 않았으면 호출하지 않는다. (isReady 확인)
+     */
+    public AdminArea findAdminArea(double latitude, double longitude) {
+        return adminAreaIndex.locate(longitude, latitude);
+    }
+
+    /**
+     * 시도/행정동 테이블은 임포트하지 않았을 수 있으므로 없으면 빈 목록으로 둔다.
+     */
+    private <T> List<PolygonIndex.Entry<T>> optional(String table, Supplier<List<PolygonIndex.Entry<T>>> loader) {
+        try {
+            return loader.get();
+        } catch (DataAccessException e) {
+            log.warn("{} 경계를 읽지 못해 제외합니다: {}", table, e.getMessage());
+            return List.of();
+        }
+    }
+}
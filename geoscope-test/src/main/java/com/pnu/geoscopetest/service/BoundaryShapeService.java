@@ -0,0 +1,177 @@
+package com.pnu.geoscopetest.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pnu.geoscopetest.entity.Sido;
+import com.pnu.geoscopetest.entity.Sigungu;
+import com.pnu.geoscopetest.repository.BoundaryJdbcRepository;
+import com.pnu.geoscopetest.spatial.GeoJsonEncoder;
+import com.pnu.geoscopetest.spatial.PolygonIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.simplify.TopologyPreservingSimplifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 줌 단계별로 단순화한 시군구/시도 경계 (GeoJSON)
+ *
+ * 기동 후 백그라운드에서 단계마다 한 번 단순화 + 인코딩 + gzip 압축해 메모리에 두고, 요청은 그 바이트를 그대로 내려준다.
+ * hash 는 압축 전 본문의 SHA-256 이므로 경계가 같으면 재기동 후에도 같다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BoundaryShapeService {
+
+    public enum Layer {
+        SIGUNGU, SIDO
+    }
+
+    /**
+     * 줌 상한별 단순화 허용오차(도). 줌 z 의 화면 한 픽셀은 대략 360 / (256 * 2^z) 도다.
+     */
+    private enum Level {
+        COUNTRY(7, 0.005, 4),
+        REGION(10, 0.001, 5),
+        CITY(13, 0.0002, 5),
+        DETAIL(Integer.MAX_VALUE, 0.00003, 6);
+
+        private final int maxZoom;
+        private final double tolerance;
+        private final int digits;
+
+        Level(int maxZoom, double tolerance, int digits) {
+            this.maxZoom = maxZoom;
+            this.tolerance = tolerance;
+            this.digits = digits;
+        }
+
+        static Level of(int zoom) {
+            for (Level level : values()) {
+                if (zoom <= level.maxZoom) {
+                    return level;
+                }
+            }
+            return DETAIL;
+        }
+    }
+
+    public record Shapes(byte[] gzip, String hash) {
+    }
+
+    private final BoundaryJdbcRepository boundaryJdbcRepository;
+    private final ObjectMapper objectMapper;
+
+    private volatile Map<Layer, Map<Level, Shapes>> shapes = Map.of();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildInBackground() {
+        Thread.ofVirtual().name("boundary-shapes").start(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.warn("단순화 경계를 만들지 못했습니다.", e);
+            }
+        });
+    }
+
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        Map<Layer, Map<Level, Shapes>> built = new EnumMap<>(Layer.class);
+        built.put(Layer.SIGUNGU, encode(boundaryJdbcRepository.findAllSigungu(), BoundaryShapeService::properties));
+        try {
+            built.put(Layer.SIDO, encode(boundaryJdbcRepository.findAllSido(), BoundaryShapeService::properties));
+        } catch (DataAccessException e) {
+            // 시도 테이블은 선택 사항이다.
+            log.warn("sido_boundary 경계를 읽지 못해 제외합니다: {}", e.getMessage());
+        }
+        this.shapes = built;
+        log.info("단순화 경계 생성: {}ms", System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 줌에 맞는 단순화 경계. 아직 만들지 않았거나 없는 레이어면 503 / 404.
+     */
+    public Shapes get(Layer layer, int zoom) {
+        Map<Layer, Map<Level, Shapes>> current = shapes;
+        if (current.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "경계 데이터를 준비 중입니다.");
+        }
+        Map<Level, Shapes> levels = current.get(layer);
+        if (levels == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "경계 데이터가 없습니다. " + layer);
+        }
+        return levels.get(Level.of(zoom));
+    }
+
+    private <T> Map<Level, Shapes> encode(List<PolygonIndex.Entry<T>> entries, Function<T, Map<String, Object>> properties) {
+        Map<Level, Shapes> encoded = new EnumMap<>(Level.class);
+        for (Level level : Level.values()) {
+            List<GeoJsonEncoder.Feature> features = entries.parallelStream()
+                    .map(e -> new GeoJsonEncoder.Feature(
+                            TopologyPreservingSimplifier.simplify(e.geometry(), level.tolerance),
+                            properties.apply(e.value())
+                    ))
+                    .toList();
+            encoded.put(level, compress(features, level.digits));
+        }
+        return encoded;
+    }
+
+    private Shapes compress(List<GeoJsonEncoder.Feature> features, int digits) {
+        try {
+            ByteArrayOutputStream json = new ByteArrayOutputStream();
+            try (JsonGenerator gen = objectMapper.getFactory().createGenerator(json)) {
+                GeoJsonEncoder.writeFeatureCollection(gen, features, digits);
+            }
+            byte[] body = json.toByteArray();
+
+            ByteArrayOutputStream gzip = new ByteArrayOutputStream(body.length / 4);
+            try (GZIPOutputStream out = new GZIPOutputStream(gzip)) {
+                out.write(body);
+            }
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return new Shapes(gzip.toByteArray(), HexFormat.of().formatHex(hash, 0, 16));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Map<String, Object> properties(Sigungu sigungu) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("id", sigungu.getId());
+        properties.put("sido_code", sigungu.getSidoCode());
+        properties.put("sgg_code", sigungu.getSggCode());
+        properties.put("sido_name", sigungu.getSidoName());
+        properties.put("sgg_name", sigungu.getSggName());
+        return properties;
+    }
+
+    private static Map<String, Object> properties(Sido sido) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("id", sido.getId());
+        properties.put("sido_code", sido.getSidoCode());
+        properties.put("sido_name", sido.getSidoName());
+        return properties;
+    }
+}
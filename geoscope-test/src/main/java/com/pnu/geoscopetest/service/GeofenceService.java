@@ -0,0 +1,209 @@
+package com.pnu.geoscopetest.service;
+
+import com.pnu.geoscopetest.dto.CreateGeofenceRequestDto;
+import com.pnu.geoscopetest.dto.GeofenceMatchDto;
+import com.pnu.geoscopetest.dto.PinResponseDto;
+import com.pnu.geoscopetest.event.PinChangedEvent;
+import com.pnu.geoscopetest.event.PinsImportedEvent;
+import com.pnu.geoscopetest.repository.PinJdbcRepository;
+import com.pnu.geoscopetest.spatial.GeoJsonDecoder;
+import com.pnu.geoscopetest.spatial.Geofence;
+import com.pnu.geoscopetest.spatial.GeofenceIndex;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.locationtech.jts.geom.util.GeometryFixer;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 지오펜스 구독
+ *
+ * 클라이언트(client_id)가 원/폴리곤 펜스를 등록하고 SSE 스트림을 열어 두면,
+ * 펜스 안에 새 핀이 저장될 때마다 그 핀을 보내준다.
+ * 매칭은 핀 저장 이벤트에서 바로 하고(공간 인덱스라 펜스 수에 비례하지 않는다),
+ * 전송은 가상 스레드에서 하므로 느린 클라이언트가 핀 저장을 막지 않는다.
+ * 스트림마다 크기가 정해진 큐와 한 번에 하나뿐인 전송 작업을 두어 보낸 순서를 지키고,
+ * 큐가 넘치면(따라오지 못하는 클라이언트) 스트림을 닫는다. 클라이언트는 다시 연결하면 된다.
+ * 연결되어 있지 않은 클라이언트의 매칭 결과는 버린다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GeofenceService {
+
+    private static final int MAX_FENCES = 1_000_000;
+    private static final double MAX_RADIUS_M = 50_000;
+    private static final long SSE_TIMEOUT_MS = 30 * 60 * 1000L;
+    private static final String MATCH_EVENT = "pin";
+    private static final int MAX_PENDING_PER_STREAM = 256;
+
+    private final GeometryFactory geometryFactory;
+
+    private final GeofenceIndex index = new GeofenceIndex();
+    private final Map<String, List<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final ExecutorService delivery = Executors.newVirtualThreadPerTaskExecutor();
+
+    public Geofence register(CreateGeofenceRequestDto dto) {
+        if (dto.clientId() == null || dto.clientId().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "client_id 가 필요합니다.");
+        }
+        if (index.size() >= MAX_FENCES) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "등록할 수 있는 펜스 수를 넘었습니다.");
+        }
+        Geofence fence = dto.geometry() != null ? polygon(dto) : circle(dto);
+        index.add(fence);
+        return fence;
+    }
+
+    /**
+     * 펜스를 등록한 client_id 만 지울 수 있다.
+     */
+    public void delete(UUID id, String clientId) {
+        Geofence fence = index.get(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "해당 지오펜스를 찾을 수 없습니다. " + id));
+        if (!fence.clientId().equals(clientId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "다른 클라이언트의 지오펜스입니다. " + id);
+        }
+        index.remove(id);
+    }
+
+    public SseEmitter subscribe(String clientId) {
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
+        Subscription subscription = new Subscription(emitter);
+        subscriptions.computeIfAbsent(clientId, k -> new CopyOnWriteArrayList<>()).add(subscription);
+
+        Runnable remove = () -> subscriptions.computeIfPresent(clientId, (k, list) -> {
+            list.remove(subscription);
+            return list.isEmpty() ? null : list;
+        });
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPinChanged(PinChangedEvent event) {
+        if (event.type() == PinChangedEvent.Type.SAVED) {
+            match(new PinResponseDto(event.id(), event.name(), event.latitude(), event.longitude(), event.sigunguId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPinsImported(PinsImportedEvent event) {
+        for (PinJdbcRepository.NewPin pin : event.pins()) {
+            match(new PinResponseDto(pin.id(), pin.name(), pin.latitude(), pin.longitude(), pin.sigunguId()));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        delivery.shutdown();
+        subscriptions.values().forEach(list -> list.forEach(subscription -> subscription.emitter.complete()));
+    }
+
+    private void match(PinResponseDto pin) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        for (Geofence fence : index.match(pin.longitude(), pin.latitude())) {
+            List<Subscription> clientSubscriptions = subscriptions.get(fence.clientId());
+            if (clientSubscriptions == null) {
+                continue;
+            }
+            GeofenceMatchDto match = new GeofenceMatchDto(fence.id(), pin);
+            for (Subscription subscription : clientSubscriptions) {
+                subscription.enqueue(match);
+            }
+        }
+    }
+
+    /**
+     * SSE 스트림 하나의 전송 큐. sending 을 잡은 작업 하나만 큐를 비우므로 큐에 넣은 순서대로 보낸다.
+     */
+    private final class Subscription {
+        private final SseEmitter emitter;
+        private final BlockingQueue<GeofenceMatchDto> pending = new ArrayBlockingQueue<>(MAX_PENDING_PER_STREAM);
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        Subscription(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void enqueue(GeofenceMatchDto match) {
+            if (!pending.offer(match)) {
+                log.debug("지오펜스 스트림이 밀려 닫습니다. (대기 {}건)", pending.size());
+                emitter.complete();
+                return;
+            }
+            if (sending.compareAndSet(false, true)) {
+                delivery.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                GeofenceMatchDto match;
+                while ((match = pending.poll()) != null) {
+                    try {
+                        emitter.send(SseEmitter.event().name(MATCH_EVENT).data(match));
+                    } catch (IOException | IllegalStateException e) {
+                        // 연결이 끊겼으면 onError/onCompletion 에서 정리된다.
+                        log.debug("지오펜스 이벤트 전송 실패: {}", e.getMessage());
+                        pending.clear();
+                    }
+                }
+                sending.set(false);
+                // 비운 직후 들어온 항목은 그 쪽에서 sending 을 잡지 못했을 수 있으므로 다시 확인한다.
+            } while (!pending.isEmpty() && sending.compareAndSet(false, true));
+        }
+    }
+
+    private Geofence circle(CreateGeofenceRequestDto dto) {
+        if (dto.latitude() == null || dto.longitude() == null || dto.radiusM() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "원형 펜스는 latitude, longitude, radius_m 이 필요합니다.");
+        }
+        if (dto.radiusM() <= 0 || dto.radiusM() > MAX_RADIUS_M) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "반경은 0 보다 크고 " + (int) MAX_RADIUS_M + "m 이하여야 합니다.");
+        }
+        return Geofence.Circle.of(UUID.randomUUID(), dto.clientId(), dto.longitude(), dto.latitude(), dto.radiusM());
+    }
+
+    private Geofence polygon(CreateGeofenceRequestDto dto) {
+        Geometry area;
+        try {
+            area = GeoJsonDecoder.readGeometry(dto.geometry(), geometryFactory);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        if (!(area instanceof Polygon) && !(area instanceof MultiPolygon)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Polygon 또는 MultiPolygon 이어야 합니다.");
+        }
+        if (!area.isValid()) {
+            area = GeometryFixer.fix(area);
+        }
+        return new Geofence.Polygon(UUID.randomUUID(), dto.clientId(), PreparedGeometryFactory.prepare(area));
+    }
+}
@@ -0,0 +1,254 @@
+package com.pnu.geoscopetest.service;
+
+import com.pnu.geoscopetest.dto.PinDedupStatusDto;
+import com.pnu.geoscopetest.dto.PinResponseDto;
+import com.pnu.geoscopetest.event.PinChangedEvent;
+import com.pnu.geoscopetest.repository.PinJdbcRepository;
+import com.pnu.geoscopetest.spatial.UtmK;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 중복 핀 판정과 기존 중복 정리
+ *
+ * 같은 이름(앞뒤 공백, 대소문자 무시)의 핀이 snap-distance-m 안에 있으면 중복으로 본다.
+ * 저장/임포트는 요청의 dedup 모드(없으면 default-mode)에 따라 중복을 그대로 두거나(off),
+ * 기존 핀으로 합치거나(merge, 새로 저장하지 않는다), 거절한다(reject).
+ *
+ * 동시에 같은 자리에 저장하는 요청은 둘 다 판정을 통과할 수 있다. 이런 중복은 정리 작업(collapse)이 지운다.
+ *
+ * 정리 작업은 먼저 모든 시군구에서 중복 쌍(이름이 같고 snap 거리 안에 있는 두 핀)을 모은 뒤, id 순서대로
+ * 남길 핀을 고른다. 핀은 snap 거리 안에 남는 핀이 있을 때만 지운다. 그래서 A–B–C 처럼 이어진 묶음에서
+ * B 가 A 때문에 지워지면 C 는 A 와 snap 거리 안에 있지 않는 한 남는다. (저장 시 판정과 같은 결과)
+ * 어느 핀이 남는지는 id 순서로만 정해지며, 먼저 저장된 핀이라는 보장은 없다.
+ */
+@Slf4j
+@Service
+public class PinDedupService {
+
+    public enum Mode {
+        OFF, MERGE, REJECT
+    }
+
+    private final PinJdbcRepository pinJdbcRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Mode defaultMode;
+    private final double snapDistanceM;
+    private final int parallelism;
+
+    private final Object lock = new Object();
+    private Thread job;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private final AtomicInteger sigunguTotal = new AtomicInteger();
+    private final AtomicInteger sigunguDone = new AtomicInteger();
+    private final AtomicLong removed = new AtomicLong();
+
+    public PinDedupService(
+            PinJdbcRepository pinJdbcRepository,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${geoscope.pin-dedup.default-mode:off}") String defaultMode,
+            @Value("${geoscope.pin-dedup.snap-distance-m:5}") double snapDistanceM,
+            @Value("${geoscope.pin-dedup.parallelism:4}") int parallelism
+    ) {
+        this.pinJdbcRepository = pinJdbcRepository;
+        this.eventPublisher = eventPublisher;
+        this.defaultMode = Mode.valueOf(defaultMode.toUpperCase(Locale.ROOT));
+        this.snapDistanceM = snapDistanceM;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * 요청 파라미터의 dedup 모드. 없으면 설정의 기본 모드.
+     */
+    public Mode resolveMode(String mode) {
+        if (mode == null || mode.isBlank()) {
+            return defaultMode;
+        }
+        try {
+            return Mode.valueOf(mode.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "지원하지 않는 dedup 모드입니다: " + mode);
+        }
+    }
+
+    public double getSnapDistanceM() {
+        return snapDistanceM;
+    }
+
+    /**
+     * 저장된 핀 중 (latitude, longitude) 의 중복 (가장 가까운 것)
+     */
+    public Optional<PinResponseDto> findDuplicate(String name, double latitude, double longitude) {
+        double[] point = UtmK.project(longitude, latitude);
+        // snap 거리는 수 m 라 축척 계수 보정(0.15% 이하)은 하지 않는다.
+        return pinJdbcRepository.findDuplicate(point[0], point[1], name, snapDistanceM);
+    }
+
+    /**
+     * pins 중 저장된 핀과 중복인 것의 위치(0부터). 배치 하나에 쿼리 한 번이다.
+     */
+    public Set<Integer> findDuplicates(List<PinJdbcRepository.NewPin> pins) {
+        if (pins.isEmpty()) {
+            return Set.of();
+        }
+        double[] eastings = new double[pins.size()];
+        double[] northings = new double[pins.size()];
+        double[] point = new double[2];
+        for (int i = 0; i < pins.size(); i++) {
+            UtmK.project(pins.get(i).longitude(), pins.get(i).latitude(), point);
+            eastings[i] = point[0];
+            northings[i] = point[1];
+        }
+        return pinJdbcRepository.findDuplicateIndexes(pins, eastings, northings, snapDistanceM);
+    }
+
+    /**
+     * 이미 저장된 중복 핀을 시군구 단위 배치로 병렬 정리한다. 이미 실행 중이면 false.
+     */
+    public boolean startCollapse() {
+        synchronized (lock) {
+            if (job != null && job.isAlive()) {
+                return false;
+            }
+            startedAt = Instant.now();
+            finishedAt = null;
+            sigunguTotal.set(0);
+            sigunguDone.set(0);
+            removed.set(0);
+            job = Thread.ofVirtual().name("pin-dedup").start(this::collapse);
+            return true;
+        }
+    }
+
+    public PinDedupStatusDto getStatus() {
+        boolean running;
+        synchronized (lock) {
+            running = job != null && job.isAlive();
+        }
+        return new PinDedupStatusDto(
+                running, sigunguTotal.get(), sigunguDone.get(), removed.get(), snapDistanceM, startedAt, finishedAt
+        );
+    }
+
+    private void collapse() {
+        List<Long> sigunguIds = pinJdbcRepository.findSigunguIdsWithPins();
+        sigunguTotal.set(sigunguIds.size());
+        log.info("핀 중복 정리 시작: 시군구 {}개, 병렬 {}", sigunguIds.size(), parallelism);
+
+        // 배치마다 한 문장(자체 트랜잭션)이라 동시에 실행하는 배치 수만큼만 커넥션을 쓴다.
+        try (ExecutorService workers = Executors.newFixedThreadPool(parallelism, Thread.ofPlatform().name("pin-dedup-", 0).factory())) {
+            List<List<PinJdbcRepository.DuplicatePair>> pairs = awaitAll(sigunguIds.stream()
+                    .map(id -> workers.submit(() -> pinJdbcRepository.findDuplicatePairsInSigungu(id, snapDistanceM)))
+                    .toList());
+            if (pairs.size() != sigunguIds.size()) {
+                // 빠진 쌍이 있으면 남는 핀을 잘못 고를 수 있으므로(지워질 핀을 남는 핀으로 볼 수 있다) 지우지 않는다.
+                log.warn("중복 쌍을 모으지 못한 시군구가 있어 삭제하지 않습니다. ({}/{})", pairs.size(), sigunguIds.size());
+                return;
+            }
+            Set<UUID> doomed = selectDuplicates(pairs);
+            awaitAll(pairs.stream()
+                    .map(batch -> batch.stream().map(PinJdbcRepository.DuplicatePair::id).filter(doomed::contains).distinct().toList())
+                    .map(ids -> workers.submit(() -> deleteDuplicates(ids)))
+                    .toList());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("핀 중복 정리를 중단했습니다.");
+        } finally {
+            finishedAt = Instant.now();
+            log.info("핀 중복 정리 완료: {}건 삭제", removed.get());
+        }
+    }
+
+    /**
+     * id 가 작은 핀부터 남길지 정한다. id 가 더 작은 중복 중 남는 핀이 하나라도 있으면 지운다.
+     * 더 작은 핀은 먼저 정해지므로 한 번 훑으면 된다. 정렬은 PostgreSQL uuid 비교(바이트 순)와 같은 부호 없는 비교다.
+     */
+    static Set<UUID> selectDuplicates(List<List<PinJdbcRepository.DuplicatePair>> pairs) {
+        Map<UUID, List<UUID>> smaller = new TreeMap<>(PinDedupService::compareUnsigned);
+        for (List<PinJdbcRepository.DuplicatePair> batch : pairs) {
+            for (PinJdbcRepository.DuplicatePair pair : batch) {
+                smaller.computeIfAbsent(pair.id(), id -> new ArrayList<>()).add(pair.duplicateOf());
+            }
+        }
+        Set<UUID> doomed = new HashSet<>();
+        smaller.forEach((id, candidates) -> {
+            for (UUID candidate : candidates) {
+                if (!doomed.contains(candidate)) {
+                    doomed.add(id);
+                    return;
+                }
+            }
+        });
+        return doomed;
+    }
+
+    private static int compareUnsigned(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    /**
+     * 모든 배치를 기다려 성공한 결과를 돌려준다. 실패한 배치는 로그만 남긴다.
+     * 기다리는 중에 중단되면 남은 배치를 취소한다.
+     */
+    private static <T> List<T> awaitAll(List<Future<T>> batches) throws InterruptedException {
+        List<T> results = new ArrayList<>(batches.size());
+        for (Future<T> batch : batches) {
+            try {
+                results.add(batch.get());
+            } catch (ExecutionException e) {
+                log.warn("핀 중복 정리 배치 실패", e.getCause());
+            } catch (InterruptedException e) {
+                batches.forEach(b -> b.cancel(true));
+                throw e;
+            }
+        }
+        return results;
+    }
+
+    private Void deleteDuplicates(List<UUID> ids) {
+        if (!ids.isEmpty()) {
+            List<PinJdbcRepository.NewPin> deleted = pinJdbcRepository.deleteByIds(ids);
+            for (PinJdbcRepository.NewPin pin : deleted) {
+                eventPublisher.publishEvent(new PinChangedEvent(
+                        PinChangedEvent.Type.DELETED, pin.id(), pin.name(), pin.latitude(), pin.longitude(), pin.sigunguId()
+                ));
+            }
+            removed.addAndGet(deleted.size());
+        }
+        sigunguDone.incrementAndGet();
+        return null;
+    }
+
+    @PreDestroy
+    public void stop() {
+        synchronized (lock) {
+            if (job != null) {
+                job.interrupt();
+            }
+        }
+    }
+}
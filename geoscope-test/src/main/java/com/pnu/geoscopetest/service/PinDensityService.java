@@ -0,0 +1,298 @@
+package com.pnu.geoscopetest.service;
+
+import com.pnu.geoscopetest.dto.AreaDensityDto;
+import com.pnu.geoscopetest.dto.PinClusterDto;
+import com.pnu.geoscopetest.dto.PinDensityResponseDto;
+import com.pnu.geoscopetest.dto.PinHeatmapResponseDto;
+import com.pnu.geoscopetest.event.BoundaryIndexRefreshedEvent;
+import com.pnu.geoscopetest.event.PinChangedEvent;
+import com.pnu.geoscopetest.event.PinsImportedEvent;
+import com.pnu.geoscopetest.repository.BoundaryJdbcRepository;
+import com.pnu.geoscopetest.repository.PinJdbcRepository;
+import com.pnu.geoscopetest.spatial.AdminArea;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 행정구역별 핀 수/밀도와 히트맵 격자
+ *
+ * 전체 계산은 pin 테이블을 커서로 읽어 좌표를 원시 타입 배열 청크로 모은 뒤, 청크마다 fork-join 으로
+ * 나눠 메모리 경계 인덱스에서 시군구/행정동을 찾아 센다. 경계 인덱스가 새로 만들어질 때마다 다시 계산한다.
+ * 그 뒤로는 핀 저장/삭제/임포트 이벤트로 카운터만 증감하므로 조회는 구역 수에 비례한다.
+ *
+ * 커서는 쿼리를 시작한 시점의 스냅샷만 읽으므로 재계산 도중에 커밋된 변경은 새 결과에 들어가지 않는다.
+ * 그래서 재계산 중의 변경은 지금 결과에 바로 반영하면서 따로 모아 두었다가, 새 결과로 바꾸기 직전에 새 결과에도 반영한다.
+ * (커서 쿼리 시작과 거의 같은 순간에 커밋된 변경만 두 번 세어질 수 있다. 복제본에서 읽으면 복제 지연 동안의 변경은 빠질 수 있다)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PinDensityService {
+
+    public enum Level {
+        SIGUNGU, HANGJUNGDONG
+    }
+
+    private static final int FETCH_SIZE = 10_000;
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final int LEAF_SIZE = 2048;
+    private static final double HEATMAP_CELL_SIZE = 0.01;
+
+    private final PinJdbcRepository pinJdbcRepository;
+    private final BoundaryJdbcRepository boundaryJdbcRepository;
+    private final BoundaryIndexService boundaryIndexService;
+
+    private volatile Snapshot snapshot;
+    /** snapshot 교체와 증분 반영/수집을 묶는다. */
+    private final Object deltaLock = new Object();
+    /** 재계산 중에 들어온 증분. 재계산 중이 아니면 null */
+    private List<Delta> pendingDeltas;
+
+    private record Delta(AdminArea area, double longitude, double latitude, int delta) {
+    }
+
+    /**
+     * 마지막 전체 계산 결과 + 이후의 증분. 카운터는 구역/칸 id → 핀 수
+     */
+    private record Snapshot(
+            Instant computedAt,
+            Map<Long, BoundaryJdbcRepository.AreaSize> sigungus,
+            Map<Long, BoundaryJdbcRepository.AreaSize> dongs,
+            Map<Long, LongAdder> sigunguCounts,
+            Map<Long, LongAdder> dongCounts,
+            Map<Long, LongAdder> heatmapCounts
+    ) {
+        void add(AdminArea area, double longitude, double latitude, int delta) {
+            if (area.sigungu() != null) {
+                sigunguCounts.computeIfAbsent(area.sigungu().getId(), k -> new LongAdder()).add(delta);
+            }
+            if (area.dong() != null) {
+                dongCounts.computeIfAbsent(area.dong().getId(), k -> new LongAdder()).add(delta);
+            }
+            heatmapCounts.computeIfAbsent(cellKey(longitude, latitude), k -> new LongAdder()).add(delta);
+        }
+    }
+
+    @EventListener
+    public void onBoundaryIndexRefreshed(BoundaryIndexRefreshedEvent event) {
+        Thread.ofVirtual().name("pin-density").start(() -> {
+            try {
+                recompute();
+            } catch (RuntimeException e) {
+                log.warn("핀 밀도를 계산하지 못했습니다.", e);
+            }
+        });
+    }
+
+    public synchronized void recompute() {
+        if (!boundaryIndexService.isReady()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "행정경계 인덱스를 준비 중입니다.");
+        }
+        long start = System.currentTimeMillis();
+        Snapshot next = new Snapshot(
+                Instant.now(),
+                byId(boundaryJdbcRepository.findSigunguAreaSizes()),
+                byId(optionalDongAreaSizes()),
+                new ConcurrentHashMap<>(),
+                new ConcurrentHashMap<>(),
+                new ConcurrentHashMap<>()
+        );
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        Deque<ForkJoinTask<?>> pending = new ArrayDeque<>();
+        Chunk[] chunk = {new Chunk()};
+        long[] total = {0};
+        synchronized (deltaLock) {
+            pendingDeltas = new ArrayList<>();
+        }
+        try {
+            pinJdbcRepository.forEach(FETCH_SIZE, pin -> {
+                Chunk current = chunk[0];
+                current.add(pin.longitude(), pin.latitude());
+                if (current.size == CHUNK_SIZE) {
+                    pending.add(pool.submit(new AssignTask(current, 0, current.size, next)));
+                    chunk[0] = new Chunk();
+                    // 읽는 속도가 계산보다 빠르면 청크가 쌓이므로 오래된 작업부터 기다린다.
+                    while (pending.size() > pool.getParallelism() * 2) {
+                        pending.poll().join();
+                    }
+                }
+                total[0]++;
+            });
+            pending.add(pool.submit(new AssignTask(chunk[0], 0, chunk[0].size, next)));
+            pending.forEach(ForkJoinTask::join);
+
+            synchronized (deltaLock) {
+                for (Delta d : pendingDeltas) {
+                    next.add(d.area(), d.longitude(), d.latitude(), d.delta());
+                }
+                this.snapshot = next;
+            }
+        } finally {
+            synchronized (deltaLock) {
+                pendingDeltas = null;
+            }
+        }
+        log.info("핀 밀도 계산: 핀 {}건, {}ms", total[0], System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPinChanged(PinChangedEvent event) {
+        apply(event.longitude(), event.latitude(), event.type() == PinChangedEvent.Type.SAVED ? 1 : -1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPinsImported(PinsImportedEvent event) {
+        for (PinJdbcRepository.NewPin pin : event.pins()) {
+            apply(pin.longitude(), pin.latitude(), 1);
+        }
+    }
+
+    public PinDensityResponseDto getDensity(Level level) {
+        Snapshot current = requireSnapshot();
+        Map<Long, BoundaryJdbcRepository.AreaSize> areas = level == Level.SIGUNGU ? current.sigungus() : current.dongs();
+        Map<Long, LongAdder> counts = level == Level.SIGUNGU ? current.sigunguCounts() : current.dongCounts();
+
+        List<AreaDensityDto> densities = areas.values().stream()
+                .map(area -> {
+                    LongAdder count = counts.get(area.id());
+                    long pins = count == null ? 0 : count.sum();
+                    double density = area.areaKm2() > 0 ? pins / area.areaKm2() : 0;
+                    return new AreaDensityDto(area.id(), area.code(), area.name(), pins, area.areaKm2(), density);
+                })
+                .sorted(Comparator.comparingDouble(AreaDensityDto::densityPerKm2).reversed())
+                .toList();
+        return new PinDensityResponseDto(level.name().toLowerCase(), current.computedAt(), densities);
+    }
+
+    /**
+     * 범위 안의 히트맵 칸. 범위를 주지 않으면 전체
+     */
+    public PinHeatmapResponseDto getHeatmap(double minLat, double minLon, double maxLat, double maxLon) {
+        Snapshot current = requireSnapshot();
+        List<PinClusterDto> cells = current.heatmapCounts().entrySet().stream()
+                .filter(e -> e.getValue().sum() > 0)
+                .map(e -> {
+                    int cx = (int) (e.getKey() >> 32);
+                    int cy = (int) (long) e.getKey();
+                    return new PinClusterDto(
+                            (cy + 0.5) * HEATMAP_CELL_SIZE, (cx + 0.5) * HEATMAP_CELL_SIZE, e.getValue().sum()
+                    );
+                })
+                .filter(c -> c.latitude() >= minLat && c.latitude() <= maxLat
+                        && c.longitude() >= minLon && c.longitude() <= maxLon)
+                .toList();
+        return new PinHeatmapResponseDto(HEATMAP_CELL_SIZE, cells);
+    }
+
+    private void apply(double longitude, double latitude, int delta) {
+        if (!boundaryIndexService.isReady()) {
+            return;
+        }
+        AdminArea area = boundaryIndexService.findAdminArea(latitude, longitude);
+        synchronized (deltaLock) {
+            if (snapshot != null) {
+                snapshot.add(area, longitude, latitude, delta);
+            }
+            if (pendingDeltas != null) {
+                pendingDeltas.add(new Delta(area, longitude, latitude, delta));
+            }
+        }
+    }
+
+    private Snapshot requireSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "핀 밀도를 계산 중입니다.");
+        }
+        return current;
+    }
+
+    /**
+     * 행정동 테이블은 임포트하지 않았을 수 있다.
+     */
+    private List<BoundaryJdbcRepository.AreaSize> optionalDongAreaSizes() {
+        try {
+            return boundaryJdbcRepository.findHangjungdongAreaSizes();
+        } catch (DataAccessException e) {
+            log.warn("행정동 면적을 읽지 못해 제외합니다: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static Map<Long, BoundaryJdbcRepository.AreaSize> byId(List<BoundaryJdbcRepository.AreaSize> areas) {
+        return areas.stream().collect(Collectors.toUnmodifiableMap(BoundaryJdbcRepository.AreaSize::id, Function.identity()));
+    }
+
+    private static long cellKey(double longitude, double latitude) {
+        int cx = (int) Math.floor(longitude / HEATMAP_CELL_SIZE);
+        int cy = (int) Math.floor(latitude / HEATMAP_CELL_SIZE);
+        return ((long) cx << 32) | (cy & 0xffffffffL);
+    }
+
+    /**
+     * 좌표 청크 (경도/위도 원시 타입 배열)
+     */
+    private static final class Chunk {
+        private final double[] lons = new double[CHUNK_SIZE];
+        private final double[] lats = new double[CHUNK_SIZE];
+        private int size = 0;
+
+        void add(double lon, double lat) {
+            lons[size] = lon;
+            lats[size] = lat;
+            size++;
+        }
+    }
+
+    /**
+     * 청크의 [start, end) 구간을 LEAF_SIZE 이하가 될 때까지 반으로 나눠 센다.
+     */
+    private final class AssignTask extends RecursiveAction {
+        private final Chunk chunk;
+        private final int start;
+        private final int end;
+        private final Snapshot target;
+
+        AssignTask(Chunk chunk, int start, int end, Snapshot target) {
+            this.chunk = chunk;
+            this.start = start;
+            this.end = end;
+            this.target = target;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= LEAF_SIZE) {
+                for (int i = start; i < end; i++) {
+                    AdminArea area = boundaryIndexService.findAdminArea(chunk.lats[i], chunk.lons[i]);
+                    target.add(area, chunk.lons[i], chunk.lats[i], 1);
+                }
+                return;
+            }
+            int mid = (start + end) >>> 1;
+            invokeAll(new AssignTask(chunk, start, mid, target), new AssignTask(chunk, mid, end, target));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.pnu.geoscopetest.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pnu.geoscopetest.dto.PinResponseDto;
+import com.pnu.geoscopetest.repository.PinJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * 핀 전체 내보내기 (NDJSON)
+ *
+ * 순방향 커서로 FETCH_SIZE 건씩 읽는 대로 한 줄씩 쓰므로 테이블 크기와 관계없이 메모리 사용량이 일정하다.
+ */
+@Service
+@RequiredArgsConstructor
+public class PinExportService {
+
+    private static final int FETCH_SIZE = 5000;
+    private static final byte NEW_LINE = '\n';
+
+    private final PinJdbcRepository pinJdbcRepository;
+    private final ObjectMapper objectMapper;
+
+    public void export(OutputStream out) throws IOException {
+        try {
+            pinJdbcRepository.forEach(FETCH_SIZE, pin -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(new PinResponseDto(
+                            pin.id(), pin.name(), pin.latitude(), pin.longitude(), pin.sigunguId()
+                    )));
+                    out.write(NEW_LINE);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // 클라이언트가 연결을 끊으면 커서를 닫고 중단한다.
+            throw e.getCause();
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,251 @@
+package com.pnu.geoscopetest.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pnu.geoscopetest.dto.PinImportEventDto;
+import com.pnu.geoscopetest.entity.Sigungu;
+import com.pnu.geoscopetest.event.PinsImportedEvent;
+import com.pnu.geoscopetest.importer.PinCsvReader;
+import com.pnu.geoscopetest.importer.PinGeoJsonReader;
+import com.pnu.geoscopetest.importer.PinImportRow;
+import com.pnu.geoscopetest.repository.PinJdbcRepository;
+import com.pnu.geoscopetest.spatial.PinGridIndex;
+import com.pnu.geoscopetest.util.TimeOrderedUuid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 핀 대량 임포트
+ *
+ * 입력을 스트리밍으로 읽어 시군구는 메모리 경계 인덱스로 정하고, JDBC batch 로 저장한다.
+ * 실패한 행과 배치마다의 진행 상황을 NDJSON 으로 바로 내보낸다.
+ *
+ * dedup 모드가 off 가 아니면 배치를 저장하기 전에 이미 저장된 핀과의 중복을 쿼리 한 번으로 찾고,
+ * 아직 저장하지 않은 같은 파일 안의 중복은 메모리 격자 인덱스로 찾는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PinImportService {
+
+    private static final int BATCH_SIZE = 5000;
+    private static final byte NEW_LINE = '\n';
+
+    /** 파일 안 중복 판정용 격자 칸 크기(도). snap 거리(수 m)보다 충분히 크면 된다. */
+    private static final double PENDING_CELL_SIZE = 0.001;
+
+    private final SggService sggService;
+    private final PinDedupService pinDedupService;
+    private final PinJdbcRepository pinJdbcRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public void importCsv(InputStream in, OutputStream out, PinDedupService.Mode dedup) throws IOException {
+        importRows(new PinCsvReader(in), out, dedup);
+    }
+
+    public void importGeoJson(InputStream in, OutputStream out, PinDedupService.Mode dedup) throws IOException {
+        importRows(new PinGeoJsonReader(objectMapper, in), out, dedup);
+    }
+
+    private void importRows(Iterator<PinImportRow> rows, OutputStream out, PinDedupService.Mode dedup) throws IOException {
+        Progress progress = new Progress(out, dedup);
+        List<PinJdbcRepository.NewPin> batch = new ArrayList<>(BATCH_SIZE);
+        List<Long> batchRows = new ArrayList<>(BATCH_SIZE);
+
+        while (rows.hasNext()) {
+            PinImportRow row = rows.next();
+            progress.processed++;
+
+            Optional<PinJdbcRepository.NewPin> pin = toNewPin(row, progress);
+            if (pin.isEmpty() || progress.isPendingDuplicate(row.row(), pin.get())) {
+                continue;
+            }
+            batch.add(pin.get());
+            batchRows.add(row.row());
+            if (batch.size() == BATCH_SIZE) {
+                flush(batch, batchRows, progress);
+            }
+        }
+        flush(batch, batchRows, progress);
+        progress.write(PinImportEventDto.summary(progress.processed, progress.imported, progress.merged, progress.failed));
+        log.info("핀 임포트 완료: 처리 {}건, 저장 {}건, 중복 {}건, 실패 {}건",
+                progress.processed, progress.imported, progress.merged, progress.failed);
+    }
+
+    private Optional<PinJdbcRepository.NewPin> toNewPin(PinImportRow row, Progress progress) throws IOException {
+        if (row.error() != null) {
+            progress.fail(row.row(), row.error());
+            return Optional.empty();
+        }
+        Optional<Sigungu> sgg;
+        try {
+            sgg = sggService.findOptionalByCoordinates(row.latitude(), row.longitude());
+        } catch (RuntimeException e) {
+            progress.fail(row.row(), e.getMessage());
+            return Optional.empty();
+        }
+        if (sgg.isEmpty()) {
+            progress.fail(row.row(), "해당 위치에 해당하는 시군구를 찾을 수 없습니다.");
+            return Optional.empty();
+        }
+        return Optional.of(new PinJdbcRepository.NewPin(
+                TimeOrderedUuid.next(), row.name(), row.longitude(), row.latitude(), sgg.get().getId()
+        ));
+    }
+
+    private void flush(List<PinJdbcRepository.NewPin> batch, List<Long> batchRows, Progress progress) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (progress.dedup != PinDedupService.Mode.OFF) {
+            removeStoredDuplicates(batch, batchRows, progress);
+        }
+        if (!batch.isEmpty()) {
+            insert(batch, batchRows, progress);
+        }
+        batch.clear();
+        batchRows.clear();
+        // 저장한 핀은 이제 DB 중복 판정에 걸리므로 파일 안 인덱스에서 비운다.
+        progress.pending.clear();
+        progress.write(PinImportEventDto.progress(progress.processed, progress.imported, progress.merged, progress.failed));
+    }
+
+    /**
+     * 배치를 저장한다. 제약 위반 같은 행 때문에 실패하면 반으로 나눠 다시 저장해서 문제 행만 실패로 보고한다.
+     * (배치는 한 번의 executeBatch 라 실패하면 전부 롤백된다.) 연결 오류처럼 행과 무관한 실패는 배치 전체를 실패로 보고한다.
+     */
+    private void insert(List<PinJdbcRepository.NewPin> pins, List<Long> rows, Progress progress) throws IOException {
+        try {
+            pinJdbcRepository.insertBatch(pins);
+            progress.imported += pins.size();
+            eventPublisher.publishEvent(new PinsImportedEvent(List.copyOf(pins)));
+        } catch (DataIntegrityViolationException e) {
+            if (pins.size() == 1) {
+                progress.fail(rows.get(0), "저장 실패: " + e.getMostSpecificCause().getMessage());
+                return;
+            }
+            int mid = pins.size() / 2;
+            insert(pins.subList(0, mid), rows.subList(0, mid), progress);
+            insert(pins.subList(mid, pins.size()), rows.subList(mid, rows.size()), progress);
+        } catch (DataAccessException e) {
+            for (Long row : rows) {
+                progress.fail(row, "저장 실패: " + e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    private void removeStoredDuplicates(
+            List<PinJdbcRepository.NewPin> batch, List<Long> batchRows, Progress progress
+    ) throws IOException {
+        Set<Integer> duplicates;
+        try {
+            duplicates = pinDedupService.findDuplicates(batch);
+        } catch (DataAccessException e) {
+            // 판정에 실패하면 배치를 저장하지 않는다. (dedup 을 요청했는데 중복이 저장되지 않도록)
+            for (Long row : batchRows) {
+                progress.fail(row, "중복 확인 실패: " + e.getMostSpecificCause().getMessage());
+            }
+            batch.clear();
+            batchRows.clear();
+            return;
+        }
+        if (duplicates.isEmpty()) {
+            return;
+        }
+        List<PinJdbcRepository.NewPin> keptPins = new ArrayList<>(batch.size() - duplicates.size());
+        List<Long> keptRows = new ArrayList<>(batch.size() - duplicates.size());
+        for (int i = 0; i < batch.size(); i++) {
+            if (!duplicates.contains(i)) {
+                keptPins.add(batch.get(i));
+                keptRows.add(batchRows.get(i));
+            } else {
+                progress.duplicate(batchRows.get(i), "이미 저장된 핀과 중복입니다.");
+            }
+        }
+        batch.clear();
+        batch.addAll(keptPins);
+        batchRows.clear();
+        batchRows.addAll(keptRows);
+    }
+
+    /**
+     * DB 의 lower(btrim(name)) 과 같은 기준
+     */
+    private static String normalize(String name) {
+        return name == null ? null : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private class Progress {
+        private final OutputStream out;
+        private final PinDedupService.Mode dedup;
+        /** 아직 저장하지 않은(현재 배치의) 핀 */
+        private final PinGridIndex pending = new PinGridIndex(PENDING_CELL_SIZE);
+        private long processed;
+        private long imported;
+        private long merged;
+        private long failed;
+
+        Progress(OutputStream out, PinDedupService.Mode dedup) {
+            this.out = out;
+            this.dedup = dedup;
+        }
+
+        void fail(long row, String message) throws IOException {
+            failed++;
+            write(PinImportEventDto.error(row, message, processed, imported, merged, failed));
+        }
+
+        /**
+         * merge 면 건너뛴 행으로 세고, reject 면 실패한 행으로 보고한다.
+         */
+        void duplicate(long row, String message) throws IOException {
+            if (dedup == PinDedupService.Mode.REJECT) {
+                fail(row, message);
+            } else {
+                merged++;
+            }
+        }
+
+        /**
+         * 같은 파일의 아직 저장하지 않은 핀과 중복이면 true. 아니면 인덱스에 넣는다.
+         */
+        boolean isPendingDuplicate(long row, PinJdbcRepository.NewPin pin) throws IOException {
+            if (dedup == PinDedupService.Mode.OFF) {
+                return false;
+            }
+            String name = normalize(pin.name());
+            for (PinGridIndex.Hit hit : pending.findWithinDistance(
+                    pin.longitude(), pin.latitude(), pinDedupService.getSnapDistanceM(), Integer.MAX_VALUE)) {
+                if (Objects.equals(normalize(hit.name()), name)) {
+                    duplicate(row, "같은 파일의 앞 행과 중복입니다.");
+                    return true;
+                }
+            }
+            pending.add(pin.id(), pin.name(), pin.longitude(), pin.latitude(), pin.sigunguId());
+            return false;
+        }
+
+        void write(PinImportEventDto event) throws IOException {
+            out.write(objectMapper.writeValueAsBytes(event));
+            out.write(NEW_LINE);
+            if (!"error".equals(event.type())) {
+                out.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.pnu.geoscopetest.service;
+
+import com.pnu.geoscopetest.dto.PinIndexStatsDto;
+import com.pnu.geoscopetest.dto.PinResponseDto;
+import com.pnu.geoscopetest.event.PinChangedEvent;
+import com.pnu.geoscopetest.event.PinsImportedEvent;
+import com.pnu.geoscopetest.repository.PinJdbcRepository;
+import com.pnu.geoscopetest.spatial.PinGridIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 핀 메모리 격자 인덱스 (선택 기능, geoscope.pin-index.enabled)
+ *
+ * 기동 후 pin 테이블을 커서로 흘려 읽어 채우고, 이후에는 핀 저장/삭제/임포트 이벤트로 최신 상태를 유지한다.
+ * 준비가 끝나기 전에는 isReady() 가 false 이므로 호출 측이 DB 조회를 쓴다.
+ */
+@Slf4j
+@Service
+public class PinIndexService {
+
+    private final PinJdbcRepository pinJdbcRepository;
+    private final boolean enabled;
+    private final int fetchSize;
+    private final PinGridIndex index;
+
+    private volatile boolean ready = false;
+    /** 적재 중에 삭제된 핀. 커서가 이미 읽은 뒤라면 적재가 끝난 다음 다시 지운다. */
+    private final Map<UUID, PinChangedEvent> deletedDuringWarmup = new ConcurrentHashMap<>();
+
+    public PinIndexService(
+            PinJdbcRepository pinJdbcRepository,
+            @Value("${geoscope.pin-index.enabled:false}") boolean enabled,
+            @Value("${geoscope.pin-index.cell-size:0.01}") double cellSize,
+            @Value("${geoscope.pin-index.fetch-size:10000}") int fetchSize
+    ) {
+        this.pinJdbcRepository = pinJdbcRepository;
+        this.enabled = enabled;
+        this.fetchSize = fetchSize;
+        this.index = new PinGridIndex(cellSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpInBackground() {
+        if (!enabled) {
+            return;
+        }
+        Thread.ofVirtual().name("pin-index-warmup").start(() -> {
+            try {
+                warmUp();
+            } catch (RuntimeException e) {
+                log.warn("핀 인덱스를 만들지 못했습니다. DB 조회를 계속 사용합니다.", e);
+            }
+        });
+    }
+
+    private void warmUp() {
+        long start = System.currentTimeMillis();
+        pinJdbcRepository.forEach(fetchSize, pin ->
+                index.add(pin.id(), pin.name(), pin.longitude(), pin.latitude(), pin.sigunguId())
+        );
+        for (PinChangedEvent deleted : deletedDuringWarmup.values()) {
+            index.remove(deleted.id(), deleted.longitude(), deleted.latitude());
+        }
+        deletedDuringWarmup.clear();
+        ready = true;
+        log.info("핀 인덱스 생성: {}건, 칸 {}개, 약 {}KB, {}ms",
+                index.size(), index.cellCount(), index.estimatedBytes() / 1024, System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPinChanged(PinChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        switch (event.type()) {
+            case SAVED -> index.add(event.id(), event.name(), event.longitude(), event.latitude(), event.sigunguId());
+            case DELETED -> {
+                index.remove(event.id(), event.longitude(), event.latitude());
+                if (!ready) {
+                    deletedDuringWarmup.put(event.id(), event);
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPinsImported(PinsImportedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        for (PinJdbcRepository.NewPin pin : event.pins()) {
+            index.add(pin.id(), pin.name(), pin.longitude(), pin.latitude(), pin.sigunguId());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<PinResponseDto> findWithinDistance(double latitude, double longitude, double distanceM, int limit) {
+        return toPins(index.findWithinDistance(longitude, latitude, distanceM, limit));
+    }
+
+    public List<PinResponseDto> findNearest(double latitude, double longitude, int k) {
+        return toPins(index.findNearest(longitude, latitude, k));
+    }
+
+    public List<PinResponseDto> findInBox(double minLon, double minLat, double maxLon, double maxLat, int limit) {
+        return toPins(index.findInBox(minLon, minLat, maxLon, maxLat, limit));
+    }
+
+    public PinIndexStatsDto getStats() {
+        return new PinIndexStatsDto(enabled, ready, index.size(), index.cellCount(), index.getCellSize(), index.estimatedBytes());
+    }
+
+    private static List<PinResponseDto> toPins(List<PinGridIndex.Hit> hits) {
+        return hits.stream()
+                .map(hit -> new PinResponseDto(hit.id(), hit.name(), hit.latitude(), hit.longitude(), hit.sigunguId()))
+                .toList();
+    }
+}
@@ -0,0 +1,94 @@
+package com.pnu.geoscopetest.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.pnu.geoscopetest.dto.PinResponseDto;
+import com.pnu.geoscopetest.repository.PinQueryRepository;
+import com.pnu.geoscopetest.spatial.GeoJsonDecoder;
+import com.pnu.geoscopetest.spatial.UtmK;
+import lombok.RequiredArgsConstructor;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.util.GeometryFixer;
+import org.locationtech.jts.io.WKBWriter;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * 임의 폴리곤 / 경로 주변(corridor) 핀 검색
+ *
+ * 입력 GeoJSON 은 JTS 로 읽어 검증한 뒤 WKB 로 넘긴다.
+ */
+@Service
+@RequiredArgsConstructor
+public class PinSearchService {
+
+    private static final int MAX_RESULTS = 1000;
+    private static final double MAX_ROUTE_DISTANCE_M = 5000;
+    private static final int MAX_INPUT_VERTICES = 50_000;
+    /** ST_Subdivide 조각 하나의 최대 꼭짓점 수 */
+    private static final int SUBDIVIDE_MAX_VERTICES = 128;
+    /** 통로 버퍼의 곡선 분할 수. 통로는 후보를 찾는 용도라 거칠어도 된다. (정확한 거리는 ST_DWithin 으로 거른다) */
+    private static final int CORRIDOR_QUADRANT_SEGMENTS = 4;
+
+    private final PinQueryRepository pinQueryRepository;
+    private final GeometryFactory geometryFactory;
+
+    public List<PinResponseDto> findInPolygon(JsonNode geoJson, int limit) {
+        Geometry area = read(geoJson);
+        if (!(area instanceof Polygon) && !(area instanceof MultiPolygon)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Polygon 또는 MultiPolygon 이어야 합니다.");
+        }
+        if (!area.isValid()) {
+            // 자기 교차 등은 고쳐서 사용한다. (그리는 도구에서 흔히 생긴다)
+            area = GeometryFixer.fix(area);
+        }
+        return pinQueryRepository.findInArea(toWkb(area), SUBDIVIDE_MAX_VERTICES, clamp(limit));
+    }
+
+    public List<PinResponseDto> findAlongRoute(JsonNode geoJson, double distanceM, int limit) {
+        Geometry route = read(geoJson);
+        if (!(route instanceof LineString)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "LineString 이어야 합니다.");
+        }
+        if (distanceM <= 0 || distanceM > MAX_ROUTE_DISTANCE_M) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "거리는 0 보다 크고 " + (int) MAX_ROUTE_DISTANCE_M + "m 이하여야 합니다.");
+        }
+        // 경로를 UTM-K 로 투영해 미터 단위로 버퍼링한다. 거리는 경로 중심의 축척 계수로 평면 거리로 바꾼다.
+        // (경로가 국토를 가로질러도 축척 계수 차이는 0.2% 이하이다)
+        Point center = route.getCentroid();
+        double gridDistance = distanceM * UtmK.scaleFactor(center.getX(), center.getY());
+        Geometry projected = UtmK.project(route);
+        Geometry corridor = projected.buffer(gridDistance, CORRIDOR_QUADRANT_SEGMENTS);
+        return pinQueryRepository.findAlongRoute(
+                toWkb(projected), toWkb(corridor), gridDistance, SUBDIVIDE_MAX_VERTICES, clamp(limit));
+    }
+
+    private Geometry read(JsonNode geoJson) {
+        Geometry geometry;
+        try {
+            geometry = GeoJsonDecoder.readGeometry(geoJson, geometryFactory);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        if (geometry.getNumPoints() > MAX_INPUT_VERTICES) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "꼭짓점이 너무 많습니다. (최대 " + MAX_INPUT_VERTICES + ")");
+        }
+        return geometry;
+    }
+
+    private static byte[] toWkb(Geometry geometry) {
+        return new WKBWriter().write(geometry);
+    }
+
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_RESULTS));
+    }
+}
@@ -1,36 +1,76 @@
 package com.pnu.geoscopetest.service;
 
+import com.pnu.geoscopetest.dto.PinPageDto;
+import com.pnu.geoscopetest.dto.PinResponseDto;
 import com.pnu.geoscopetest.entity.Pin;
 import com.pnu.geoscopetest.entity.Sigungu;
+import com.pnu.geoscopetest.event.PinChangedEvent;
+import com.pnu.geoscopetest.repository.PinQueryRepository;
 import com.pnu.geoscopetest.repository.PinRepository;
+import com.pnu.geoscopetest.spatial.UtmK;
 import lombok.RequiredArgsConstructor;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class PinService {
 
+    private static final int MAX_RESULTS = 1000;
+
     private final PinRepository pinRepository;
+    private final PinQueryRepository pinQueryRepository;
     private final SggService sggService;
+    private final PinIndexService pinIndexService;
+    private final PinDedupService pinDedupService;
     private final GeometryFactory geometryFactory;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public Pin save(String name, double latitude, double longitude) {
+    /**
+     * 핀 저장
+     *
+     * dedup 모드가 merge 면 중복 핀이 있을 때 새로 저장하지 않고 그 핀을 돌려주고, reject 면 409 로 거절한다.
+     */
+    public PinResponseDto save(String name, double latitude, double longitude, PinDedupService.Mode dedup) {
+        if (dedup != PinDedupService.Mode.OFF) {
+            Optional<PinResponseDto> duplicate = pinDedupService.findDuplicate(name, latitude, longitude);
+            if (duplicate.isPresent()) {
+                if (dedup == PinDedupService.Mode.REJECT) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT,
+                            "같은 이름의 핀이 " + pinDedupService.getSnapDistanceM() + "m 안에 이미 있습니다. " + duplicate.get().id());
+                }
+                return duplicate.get();
+            }
+        }
         Sigungu sgg = sggService.findByCoordinates(latitude, longitude);
         Point location = geometryFactory.createPoint(new Coordinate(longitude, latitude));
 
-        return pinRepository.save(new Pin(name, location, sgg));
+        Pin pin = pinRepository.save(new Pin(name, location, sggService.getReferenceById(sgg.getId())));
+        eventPublisher.publishEvent(toEvent(PinChangedEvent.Type.SAVED, pin, sgg.getId()));
+        return PinResponseDto.fromEntity(pin);
     }
 
-    public List<Pin> findAll() {
-        return pinRepository.findAll();
+    /**
+     * id 순서로 after 다음부터 size 건. after 가 없으면 처음부터.
+     * 한 건을 더 읽어 다음 페이지가 있는지 판단한다.
+     */
+    public PinPageDto findPage(UUID after, int size) {
+        int pageSize = clamp(size);
+        List<PinResponseDto> pins = pinQueryRepository.findPage(after, pageSize + 1);
+
+        List<PinResponseDto> page = pins.size() > pageSize ? pins.subList(0, pageSize) : pins;
+        UUID nextCursor = pins.size() > pageSize ? page.get(page.size() - 1).id() : null;
+        return new PinPageDto(page, nextCursor);
     }
 
     public Pin findById(UUID id) {
@@ -38,17 +78,56 @@ public class PinService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "해당 위치의 핀을 찾을 수 없습니다. " + id));
     }
 
-    public List<Pin> findWithInDistanceKm(double latitude, double longitude, double distanceKm) {
-        return pinRepository.findByDistanceKm(latitude, longitude, distanceKm);
+    /**
+     * 반경 내 핀을 가까운 순서로 limit 건까지 조회한다.
+     */
+    public List<PinResponseDto> findWithInDistanceKm(double latitude, double longitude, double distanceKm, int limit) {
+        double distanceM = distanceKm * 1000;
+        if (pinIndexService.isReady()) {
+            return pinIndexService.findWithinDistance(latitude, longitude, distanceM, clamp(limit));
+        }
+        // 중심의 축척 계수로 실제 거리를 UTM-K 평면 거리로 바꾼다. (반경 수십 km 안에서는 축척 계수가 거의 일정하다)
+        double[] center = UtmK.project(longitude, latitude);
+        double gridDistance = distanceM * UtmK.scaleFactor(longitude, latitude);
+        return pinQueryRepository.findWithinDistance(center[0], center[1], gridDistance, clamp(limit));
+    }
+
+    /**
+     * 가장 가까운 핀 k 개를 조회한다.
+     */
+    public List<PinResponseDto> findNearest(double latitude, double longitude, int k) {
+        int limit = clamp(k);
+        if (pinIndexService.isReady()) {
+            return pinIndexService.findNearest(latitude, longitude, limit);
+        }
+        double[] center = UtmK.project(longitude, latitude);
+        return pinQueryRepository.findNearest(center[0], center[1], limit);
     }
 
-    public List<Pin> findBySigunguId(Long sigunguId) {
-        Sigungu sigungu = sggService.findById(sigunguId);
-        return pinRepository.findBySigungu(sigungu);
+    public List<PinResponseDto> findBySigunguId(Long sigunguId) {
+        if (!sggService.existsById(sigunguId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "해당 시군구를 찾을 수 없습니다. " + sigunguId);
+        }
+        return pinQueryRepository.findBySigunguId(sigunguId);
     }
 
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_RESULTS));
+    }
+
+    /**
+     * 조회와 삭제를 한 쓰기 트랜잭션에서 한다. (주 서버에서 조회하므로 방금 저장한 핀도 지울 수 있다)
+     * 삭제 이벤트 리스너는 @TransactionalEventListener 라 커밋된 뒤에 캐시/인덱스를 바꾼다. (롤백되면 받지 않는다)
+     */
+    @Transactional
     public void deleteById(UUID id) {
-        findById(id);
+        Pin pin = findById(id);
         pinRepository.deleteById(id);
+        eventPublisher.publishEvent(toEvent(PinChangedEvent.Type.DELETED, pin, pin.getSigungu().getId()));
+    }
+
+    private static PinChangedEvent toEvent(PinChangedEvent.Type type, Pin pin, Long sigunguId) {
+        Point location = pin.getLocation();
+        return new PinChangedEvent(type, pin.getId(), pin.getName(), location.getY(), location.getX(), sigunguId);
     }
 }
@@ -0,0 +1,66 @@
+package com.pnu.geoscopetest.service;
+
+import com.pnu.geoscopetest.dto.PinClusterDto;
+import com.pnu.geoscopetest.dto.PinResponseDto;
+import com.pnu.geoscopetest.dto.PinViewportResponseDto;
+import com.pnu.geoscopetest.repository.PinJdbcRepository;
+import com.pnu.geoscopetest.repository.PinQueryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * 지도 화면 범위 조회
+ *
+ * 줌 레벨이 낮으면 DB 에서 격자별로 묶은 클러스터(개수, 평균 좌표)만 내려주고,
+ * 줌 레벨이 충분히 높으면 개별 핀을 내려준다. 어느 쪽이든 응답 건수에는 상한이 있다.
+ */
+@Service
+@RequiredArgsConstructor
+public class PinViewportService {
+
+    /** 이 줌 레벨부터 개별 핀을 내려준다. */
+    private static final int PIN_ZOOM = 16;
+    /** 타일(256px) 한 변을 나누는 격자 칸 수 → 칸 하나가 약 64px */
+    private static final int CELLS_PER_TILE = 4;
+    private static final int MAX_CLUSTERS = 2000;
+    private static final int MAX_PINS = 2000;
+
+    private final PinQueryRepository pinQueryRepository;
+    private final PinJdbcRepository pinJdbcRepository;
+    private final PinIndexService pinIndexService;
+
+    public PinViewportResponseDto findInViewport(
+            double minLat, double minLon, double maxLat, double maxLon, int zoom
+    ) {
+        if (minLat > maxLat || minLon > maxLon || zoom < 0 || zoom > 22) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "화면 범위 또는 줌 레벨이 올바르지 않습니다.");
+        }
+
+        if (zoom >= PIN_ZOOM) {
+            List<PinResponseDto> pins = pinIndexService.isReady()
+                    ? pinIndexService.findInBox(minLon, minLat, maxLon, maxLat, MAX_PINS + 1)
+                    : pinQueryRepository.findInBox(minLon, minLat, maxLon, maxLat, MAX_PINS + 1);
+            return new PinViewportResponseDto(
+                    zoom,
+                    List.of(),
+                    pins.stream().limit(MAX_PINS).toList(),
+                    pins.size() > MAX_PINS
+            );
+        }
+
+        double cellSize = 360.0 / ((1L << zoom) * CELLS_PER_TILE);
+        List<PinClusterDto> clusters = pinJdbcRepository.findClusters(
+                minLon, minLat, maxLon, maxLat, cellSize, MAX_CLUSTERS + 1
+        );
+        return new PinViewportResponseDto(
+                zoom,
+                clusters.stream().limit(MAX_CLUSTERS).toList(),
+                List.of(),
+                clusters.size() > MAX_CLUSTERS
+        );
+    }
+}
@@ -0,0 +1,116 @@
+package com.pnu.geoscopetest.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 복제본 지연 측정
+ *
+ * 복제본에서 마지막으로 재생한 트랜잭션 시각과 현재 시각의 차이를 주기적으로 재서
+ * geoscope.replica.lag(초) 게이지로 내보낸다. 받은 WAL 을 모두 재생했으면 지연은 0 으로 본다.
+ * (주 서버에 쓰기가 없을 때 마지막 재생 시각이 오래되어 지연이 커 보이는 것을 막는다)
+ * WAL 수신이 끊긴 상태(pg_stat_wal_receiver 가 streaming 이 아님)에서는 받은 WAL 을 다 재생해도 지연을 알 수 없으므로 NaN 이다.
+ * (pg_stat_wal_receiver 의 status 는 superuser 나 pg_read_all_stats 역할이어야 보인다)
+ * 측정에 실패하면(복제본 중단, 복제본이 아님) 게이지는 NaN 이다.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty("geoscope.datasource.replica.jdbc-url")
+public class ReplicaLagMonitor {
+
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() THEN NULL
+                       WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN -1
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE (EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000)::bigint
+                   END
+            """;
+    private static final long UNKNOWN = -1;
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final Duration interval;
+    private final Duration warnLag;
+    private final AtomicLong lagMs = new AtomicLong(UNKNOWN);
+    private boolean receiverDown;
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("replica-lag").factory());
+
+    public ReplicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${geoscope.replica-lag.interval:5s}") Duration interval,
+            @Value("${geoscope.replica-lag.warn:5s}") Duration warnLag
+    ) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.interval = interval;
+        this.warnLag = warnLag;
+
+        Gauge.builder("geoscope.replica.lag", lagMs, v -> v.get() == UNKNOWN ? Double.NaN : v.get() / 1000.0)
+                .description("복제본 재생 지연")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::measure, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 마지막 측정값. 측정하지 못했으면 비어 있다.
+     */
+    public Optional<Duration> getLag() {
+        long lag = lagMs.get();
+        return lag == UNKNOWN ? Optional.empty() : Optional.of(Duration.ofMillis(lag));
+    }
+
+    private void measure() {
+        try {
+            Long lag = replicaJdbcTemplate.queryForObject(LAG_QUERY, Long.class);
+            if (lag == null) {
+                lagMs.set(UNKNOWN);
+                log.warn("복제본이 복구(recovery) 모드가 아닙니다. geoscope.datasource.replica 설정을 확인하세요.");
+                return;
+            }
+            if (lag == UNKNOWN) {
+                lagMs.set(UNKNOWN);
+                if (!receiverDown) {
+                    receiverDown = true;
+                    log.warn("복제본이 주 서버에서 WAL 을 받고 있지 않습니다. (pg_stat_wal_receiver)");
+                }
+                return;
+            }
+            receiverDown = false;
+            long previous = lagMs.getAndSet(lag);
+            if (lag >= warnLag.toMillis() && previous < warnLag.toMillis()) {
+                log.warn("복제본 지연이 {}ms 입니다.", lag);
+            }
+        } catch (Exception e) {
+            lagMs.set(UNKNOWN);
+            log.warn("복제본 지연 측정 실패: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+}
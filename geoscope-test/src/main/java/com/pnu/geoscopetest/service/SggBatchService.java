@@ -0,0 +1,108 @@
+package com.pnu.geoscopetest.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pnu.geoscopetest.dto.CoordinateDto;
+import com.pnu.geoscopetest.dto.SggBatchResultDto;
+import com.pnu.geoscopetest.dto.SggResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * 일괄 역지오코딩
+ *
+ * 입력을 일정 크기 묶음으로 나눠 묶음 안에서는 여러 코어로 병렬 처리하고,
+ * 결과는 입력 순서대로 NDJSON 으로 바로 내보낸다. 메모리는 묶음 크기만큼만 사용한다.
+ * 한 좌표의 실패는 그 좌표의 결과(error)로만 기록하고 나머지는 계속 처리한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class SggBatchService {
+
+    private static final int CHUNK_SIZE = 2048;
+    private static final byte NEW_LINE = '\n';
+
+    private final SggService sggService;
+    private final ObjectMapper objectMapper;
+
+    public void resolve(List<CoordinateDto> coordinates, OutputStream out) throws IOException {
+        for (int offset = 0; offset < coordinates.size(); offset += CHUNK_SIZE) {
+            List<CoordinateDto> chunk = coordinates.subList(offset, Math.min(offset + CHUNK_SIZE, coordinates.size()));
+            long base = offset;
+            write(resolveChunk(chunk.size(), i -> resolveOne(base + i, chunk.get(i))), out);
+        }
+    }
+
+    public void resolveNdjson(InputStream in, OutputStream out) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<String> lines = new ArrayList<>(CHUNK_SIZE);
+        long base = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            lines.add(line);
+            if (lines.size() == CHUNK_SIZE) {
+                base = writeNdjsonChunk(lines, base, out);
+            }
+        }
+        writeNdjsonChunk(lines, base, out);
+    }
+
+    private long writeNdjsonChunk(List<String> lines, long base, OutputStream out) throws IOException {
+        write(resolveChunk(lines.size(), i -> resolveLine(base + i, lines.get(i))), out);
+        long next = base + lines.size();
+        lines.clear();
+        return next;
+    }
+
+    private SggBatchResultDto[] resolveChunk(int size, IntFunction<SggBatchResultDto> resolver) {
+        return IntStream.range(0, size)
+                .parallel()
+                .mapToObj(resolver)
+                .toArray(SggBatchResultDto[]::new);
+    }
+
+    private SggBatchResultDto resolveLine(long index, String line) {
+        CoordinateDto coordinate;
+        try {
+            coordinate = objectMapper.readValue(line, CoordinateDto.class);
+        } catch (IOException e) {
+            return new SggBatchResultDto(index, null, null, null, "잘못된 입력입니다: " + e.getOriginalMessage());
+        }
+        return resolveOne(index, coordinate);
+    }
+
+    private SggBatchResultDto resolveOne(long index, CoordinateDto coordinate) {
+        if (coordinate == null || coordinate.latitude() == null || coordinate.longitude() == null) {
+            return new SggBatchResultDto(index, null, null, null, "latitude, longitude 가 필요합니다.");
+        }
+        try {
+            SggResponseDto sgg = sggService.findOptionalByCoordinates(coordinate.latitude(), coordinate.longitude())
+                    .map(SggResponseDto::fromEntity)
+                    .orElse(null);
+            return new SggBatchResultDto(index, coordinate.latitude(), coordinate.longitude(), sgg, null);
+        } catch (RuntimeException e) {
+            return new SggBatchResultDto(index, coordinate.latitude(), coordinate.longitude(), null, e.getMessage());
+        }
+    }
+
+    private void write(SggBatchResultDto[] results, OutputStream out) throws IOException {
+        for (SggBatchResultDto result : results) {
+            out.write(objectMapper.writeValueAsBytes(result));
+            out.write(NEW_LINE);
+        }
+        out.flush();
+    }
+}
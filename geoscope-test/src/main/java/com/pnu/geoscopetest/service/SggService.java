@@ -13,9 +13,16 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class SggService {
     private final SggRepository sggRepository;
+    private final BoundaryIndexService boundaryIndexService;
 
+    /**
+     * 좌표가 속한 시군구
+     *
+     * 메모리 경계 인덱스가 준비되어 있으면 인덱스에서 찾고(경계는 채워지지 않은 준영속 객체),
+     * 아직 준비되지 않았으면 DB 의 ST_Contains 조회로 대신한다.
+     */
     public Sigungu findByCoordinates(double latitude, double longitude) {
-        Optional<Sigungu> sgg = sggRepository.findByLocation(latitude, longitude);
+        Optional<Sigungu> sgg = findOptionalByCoordinates(latitude, longitude);
         if (sgg.isEmpty()) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND,
                     "해당 위치에 해당하는 시군구를 찾을 수 없습니다."
@@ -24,6 +31,23 @@ public class SggService {
         return sgg.get();
     }
 
+    public Optional<Sigungu> findOptionalByCoordinates(double latitude, double longitude) {
+        return boundaryIndexService.isReady()
+                ? boundaryIndexService.findSigungu(latitude, longitude)
+                : sggRepository.findByLocation(latitude, longitude);
+    }
+
+    /**
+     * 연관관계 지정용 참조 (조회 쿼리를 실행하지 않는다)
+     */
+    public Sigungu getReferenceById(Long id) {
+        return sggRepository.getReferenceById(id);
+    }
+
+    public boolean existsById(Long id) {
+        return sggRepository.existsById(id);
+    }
+
     public Sigungu findById(Long id) {
         return sggRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "해당 시군구를 찾을 수 없습니다. " + id));
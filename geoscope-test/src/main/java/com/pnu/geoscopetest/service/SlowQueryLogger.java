@@ -0,0 +1,158 @@
+package com.pnu.geoscopetest.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 느린 쿼리 로그
+ *
+ * threshold 보다 오래 걸린 PreparedStatement 를 SQL, 바인딩 파라미터와 함께 로그로 남기고
+ * 같은 SQL/파라미터로 EXPLAIN (ANALYZE, BUFFERS) 를 떠서 실행 계획을 붙인다. (인덱스를 타지 않는 ST_Distance 순차 스캔 등)
+ *
+ * EXPLAIN ANALYZE 는 쿼리를 한 번 더 실행하므로
+ * - 같은 SQL 은 log-interval 에 한 번만 로그를 남기고(그 사이 건수는 다음 로그에 합산), EXPLAIN 은 한 번에 하나만 뜬다.
+ * - SELECT/WITH 문만, 읽기 전용 트랜잭션 안에서 뜨고 롤백한다. (쓰기 문은 계획 없이 로그만)
+ * - 요청 스레드를 붙잡지 않도록 가상 스레드에서 별도 커넥션으로 뜬다.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(value = "geoscope.slow-query.enabled", matchIfMissing = true)
+public class SlowQueryLogger {
+
+    private static final int MAX_PARAMETER_LENGTH = 200;
+
+    /**
+     * PreparedStatement 의 set* 호출 하나 (setter.invoke(statement, args) 로 다시 바인딩한다)
+     */
+    public record Parameter(Method setter, Object[] args) {
+    }
+
+    private record Window(AtomicLong lastLoggedNanos, AtomicInteger suppressed) {
+    }
+
+    private final long thresholdNanos;
+    private final long logIntervalNanos;
+    private final boolean explain;
+    private final Counter slowQueries;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final Semaphore explaining = new Semaphore(1);
+
+    public SlowQueryLogger(
+            MeterRegistry meterRegistry,
+            @Value("${geoscope.slow-query.threshold:200ms}") Duration threshold,
+            @Value("${geoscope.slow-query.log-interval:60s}") Duration logInterval,
+            @Value("${geoscope.slow-query.explain:true}") boolean explain
+    ) {
+        this.thresholdNanos = threshold.toNanos();
+        this.logIntervalNanos = logInterval.toNanos();
+        this.explain = explain;
+        this.slowQueries = Counter.builder("geoscope.sql.slow")
+                .description("threshold 를 넘긴 쿼리 수")
+                .register(meterRegistry);
+    }
+
+    public boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= thresholdNanos;
+    }
+
+    /**
+     * 느린 쿼리 하나를 기록한다. explainDataSource 는 EXPLAIN 을 뜰 커넥션을 얻을 곳이다.
+     */
+    public void report(DataSource explainDataSource, String sql, List<Parameter> parameters, long elapsedNanos) {
+        slowQueries.increment();
+
+        long now = System.nanoTime();
+        Window window = windows.computeIfAbsent(sql, k -> new Window(new AtomicLong(now - logIntervalNanos), new AtomicInteger()));
+        long last = window.lastLoggedNanos().get();
+        if (now - last < logIntervalNanos || !window.lastLoggedNanos().compareAndSet(last, now)) {
+            window.suppressed().incrementAndGet();
+            return;
+        }
+        int suppressed = window.suppressed().getAndSet(0);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+
+        if (!explain || !isExplainable(sql) || !explaining.tryAcquire()) {
+            logSlowQuery(elapsedMs, suppressed, sql, parameters, null);
+            return;
+        }
+        Thread.ofVirtual().name("slow-query-explain").start(() -> {
+            try {
+                logSlowQuery(elapsedMs, suppressed, sql, parameters, explain(explainDataSource, sql, parameters));
+            } finally {
+                explaining.release();
+            }
+        });
+    }
+
+    private void logSlowQuery(long elapsedMs, int suppressed, String sql, List<Parameter> parameters, String plan) {
+        log.warn("느린 쿼리 {}ms (이전 로그 이후 {}건 더)\nSQL: {}\n파라미터: {}{}",
+                elapsedMs, suppressed, sql.strip(), formatParameters(parameters),
+                plan == null ? "" : "\n" + plan);
+    }
+
+    /**
+     * 커넥션의 readOnly 표시 때문에 복제본 설정(ReadWriteDataSourceConfig)에서는 복제본에서 뜬다.
+     */
+    private String explain(DataSource dataSource, String sql, List<Parameter> parameters) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(true);
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + sql)) {
+                for (Parameter parameter : parameters) {
+                    parameter.setter().invoke(statement, parameter.args());
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString().stripTrailing();
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        } catch (Exception e) {
+            return "EXPLAIN 실패: " + e.getMessage();
+        }
+    }
+
+    private static boolean isExplainable(String sql) {
+        String head = sql.stripLeading().toUpperCase(Locale.ROOT);
+        return head.startsWith("SELECT") || head.startsWith("WITH");
+    }
+
+    private static String formatParameters(List<Parameter> parameters) {
+        return parameters.stream()
+                .map(p -> p.args()[0] + "=" + (p.setter().getName().equals("setNull") ? "NULL" : formatValue(p.args()[1])))
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private static String formatValue(Object value) {
+        if (value instanceof byte[] bytes) {
+            return "<" + bytes.length + " bytes>";
+        }
+        String text = value instanceof String s ? "'" + s + "'" : String.valueOf(value);
+        return text.length() > MAX_PARAMETER_LENGTH ? text.substring(0, MAX_PARAMETER_LENGTH) + "..." : text;
+    }
+}
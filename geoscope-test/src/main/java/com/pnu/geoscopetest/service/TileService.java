@@ -0,0 +1,159 @@
+package com.pnu.geoscopetest.service;
+
+import com.pnu.geoscopetest.event.BoundaryIndexRefreshedEvent;
+import com.pnu.geoscopetest.event.PinChangedEvent;
+import com.pnu.geoscopetest.event.PinsImportedEvent;
+import com.pnu.geoscopetest.repository.PinJdbcRepository;
+import com.pnu.geoscopetest.repository.TileJdbcRepository;
+import com.pnu.geoscopetest.spatial.ByteSizeLruCache;
+import com.pnu.geoscopetest.spatial.TileCoordinates;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 벡터 타일(MVT) 생성과 캐시
+ *
+ * 경계 레이어(시군구, 행정동)는 경계 인덱스를 다시 만들 때(BoundaryIndexRefreshedEvent)만 비우고 그 외에는 계속 재사용한다.
+ * 핀 레이어는 따로 캐시하고, 핀이 저장/삭제되면 그 핀을 덮는 타일만 줌 별로 비운다.
+ * 두 캐시 모두 전체 바이트 크기로 제한되는 LRU 다.
+ *
+ * 타일을 만드는 사이에 비우기가 끝나면 변경 전 타일이 다시 캐시될 수 있으므로, 비울 때마다 세대 번호를 올리고
+ * 캐시에 넣은 뒤 세대가 바뀌었으면 도로 뺀다. (핀 타일은 키 해시로 나눈 칸마다 세대를 둔다)
+ */
+@Slf4j
+@Service
+public class TileService {
+
+    /** 행정동은 개수가 많아 이 줌 이상에서만 싣는다. */
+    private static final int DONG_MIN_ZOOM = 10;
+    /** 핀은 이 줌 이상에서만 싣는다. 그 아래는 /api/pins/viewport 의 클러스터를 쓴다. */
+    private static final int PIN_MIN_ZOOM = 12;
+    private static final int PIN_MAX_ZOOM = 22;
+    private static final int MAX_PINS_PER_TILE = 10_000;
+    private static final int PIN_GENERATION_STRIPES = 1024;
+    /** PostgreSQL undefined_table */
+    private static final String UNDEFINED_TABLE = "42P01";
+
+    private final TileJdbcRepository tileJdbcRepository;
+    private final ByteSizeLruCache<Long> boundaryTiles;
+    private final ByteSizeLruCache<Long> pinTiles;
+    private final AtomicLong boundaryGeneration = new AtomicLong();
+    private final AtomicLongArray pinGenerations = new AtomicLongArray(PIN_GENERATION_STRIPES);
+    private volatile boolean dongLayerAvailable = true;
+
+    public TileService(
+            TileJdbcRepository tileJdbcRepository,
+            @Value("${geoscope.tiles.boundary-cache-bytes:67108864}") long boundaryCacheBytes,
+            @Value("${geoscope.tiles.pin-cache-bytes:33554432}") long pinCacheBytes
+    ) {
+        this.tileJdbcRepository = tileJdbcRepository;
+        this.boundaryTiles = new ByteSizeLruCache<>(boundaryCacheBytes);
+        this.pinTiles = new ByteSizeLruCache<>(pinCacheBytes);
+    }
+
+    public byte[] getTile(int z, int x, int y) {
+        if (!TileCoordinates.isValid(z, x, y)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 타일 좌표입니다. " + z + "/" + x + "/" + y);
+        }
+        long key = key(z, x, y);
+        byte[] boundary = boundaryTiles.get(key);
+        if (boundary == null) {
+            long generation = boundaryGeneration.get();
+            boundary = buildBoundaryTile(z, x, y);
+            boundaryTiles.put(key, boundary);
+            if (boundaryGeneration.get() != generation) {
+                boundaryTiles.remove(key);
+            }
+        }
+        if (z < PIN_MIN_ZOOM) {
+            return boundary;
+        }
+        byte[] pins = pinTiles.get(key);
+        if (pins == null) {
+            int stripe = stripe(key);
+            long generation = pinGenerations.get(stripe);
+            pins = tileJdbcRepository.findPinLayer(z, x, y, MAX_PINS_PER_TILE);
+            pinTiles.put(key, pins);
+            if (pinGenerations.get(stripe) != generation) {
+                pinTiles.remove(key);
+            }
+        }
+
+        // MVT 레이어는 protobuf repeated 필드라 이어 붙이기만 하면 된다.
+        byte[] tile = new byte[boundary.length + pins.length];
+        System.arraycopy(boundary, 0, tile, 0, boundary.length);
+        System.arraycopy(pins, 0, tile, boundary.length, pins.length);
+        return tile;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPinChanged(PinChangedEvent event) {
+        evictPinTiles(event.latitude(), event.longitude());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPinsImported(PinsImportedEvent event) {
+        for (PinJdbcRepository.NewPin pin : event.pins()) {
+            evictPinTiles(pin.latitude(), pin.longitude());
+        }
+    }
+
+    /**
+     * 경계가 다시 로드되면 경계 타일을 모두 버린다. 행정동 테이블이 새로 생겼을 수 있으므로 레이어도 다시 시도한다.
+     */
+    @EventListener
+    public void onBoundaryIndexRefreshed(BoundaryIndexRefreshedEvent event) {
+        boundaryGeneration.incrementAndGet();
+        dongLayerAvailable = true;
+        boundaryTiles.clear();
+    }
+
+    private void evictPinTiles(double latitude, double longitude) {
+        for (int z = PIN_MIN_ZOOM; z <= PIN_MAX_ZOOM; z++) {
+            long key = key(z, TileCoordinates.tileX(longitude, z), TileCoordinates.tileY(latitude, z));
+            pinGenerations.incrementAndGet(stripe(key));
+            pinTiles.remove(key);
+        }
+    }
+
+    private byte[] buildBoundaryTile(int z, int x, int y) {
+        ByteArrayOutputStream tile = new ByteArrayOutputStream();
+        tile.writeBytes(tileJdbcRepository.findSigunguLayer(z, x, y));
+        if (z >= DONG_MIN_ZOOM && dongLayerAvailable) {
+            try {
+                tile.writeBytes(tileJdbcRepository.findHangjungdongLayer(z, x, y));
+            } catch (BadSqlGrammarException e) {
+                // 행정동 테이블은 선택 사항이다. 테이블이 없을 때만 레이어를 끈다.
+                // 타임아웃, 풀 고갈 같은 일시 오류는 그대로 던져 레이어가 빠진 타일이 캐시되지 않게 한다.
+                if (!UNDEFINED_TABLE.equals(e.getSQLException().getSQLState())) {
+                    throw e;
+                }
+                log.warn("행정동 테이블이 없어 행정동 레이어를 제외합니다: {}", e.getMostSpecificCause().getMessage());
+                dongLayerAvailable = false;
+            }
+        }
+        return tile.toByteArray();
+    }
+
+    private static int stripe(long key) {
+        int h = Long.hashCode(key);
+        return (h ^ (h >>> 16)) & (PIN_GENERATION_STRIPES - 1);
+    }
+
+    /**
+     * z(5bit) | x(29bit) | y(29bit) 로 타일 좌표를 하나의 long 키로 만든다.
+     */
+    private static long key(int z, int x, int y) {
+        return ((long) z << 58) | ((long) x << 29) | y;
+    }
+}
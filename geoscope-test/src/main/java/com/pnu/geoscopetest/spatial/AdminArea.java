@@ -0,0 +1,15 @@
+package com.pnu.geoscopetest.spatial;
+
+import com.pnu.geoscopetest.entity.Hangjungdong;
+import com.pnu.geoscopetest.entity.Sido;
+import com.pnu.geoscopetest.entity.Sigungu;
+
+/**
+ * 한 좌표의 시도 / 시군구 / 행정동. 찾지 못한 단계는 null 이다.
+ */
+public record AdminArea(
+        Sido sido,
+        Sigungu sigungu,
+        Hangjungdong dong
+) {
+}
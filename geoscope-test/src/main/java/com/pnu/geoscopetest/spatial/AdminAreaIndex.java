@@ -0,0 +1,122 @@
+package com.pnu.geoscopetest.spatial;
+
+import com.pnu.geoscopetest.entity.Hangjungdong;
+import com.pnu.geoscopetest.entity.Sido;
+import com.pnu.geoscopetest.entity.Sigungu;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.GeometryFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 시도 → 시군구 → 행정동 계층 인덱스
+ *
+ * 시도를 먼저 찾고, 그 시도에 속한 시군구만, 다시 그 시군구에 속한 행정동만 검사한다.
+ * 단계마다 후보가 수십 개 이하라 전체 결과를 몇 번의 폴리곤 검사로 얻는다.
+ * 시도 경계 병합 과정에서 생긴 틈 등으로 시도를 찾지 못하면 전체 시군구 인덱스로 찾는다.
+ */
+public class AdminAreaIndex {
+
+    private record SidoNode(Sido sido, PolygonIndex<SigunguNode> sigungus) {
+    }
+
+    private record SigunguNode(Sigungu sigungu, PolygonIndex<Hangjungdong> dongs) {
+    }
+
+    private final PolygonIndex<SidoNode> sidos;
+    private final PolygonIndex<SigunguNode> allSigungus;
+    private final Map<String, Sido> sidoByCode;
+
+    private AdminAreaIndex(PolygonIndex<SidoNode> sidos, PolygonIndex<SigunguNode> allSigungus, Map<String, Sido> sidoByCode) {
+        this.sidos = sidos;
+        this.allSigungus = allSigungus;
+        this.sidoByCode = sidoByCode;
+    }
+
+    public static AdminAreaIndex build(
+            List<PolygonIndex.Entry<Sido>> sidoEntries,
+            List<PolygonIndex.Entry<Sigungu>> sigunguEntries,
+            List<PolygonIndex.Entry<Hangjungdong>> dongEntries,
+            GeometryFactory geometryFactory
+    ) {
+        Map<String, List<PolygonIndex.Entry<Hangjungdong>>> dongsBySgg = new HashMap<>();
+        for (PolygonIndex.Entry<Hangjungdong> dong : dongEntries) {
+            dongsBySgg.computeIfAbsent(sggKey(dong.value().getSidoCode(), dong.value().getSggCode()), k -> new ArrayList<>())
+                    .add(dong);
+        }
+
+        List<PolygonIndex.Entry<SigunguNode>> sigunguNodes = new ArrayList<>();
+        Map<String, List<PolygonIndex.Entry<SigunguNode>>> sigungusBySido = new HashMap<>();
+        for (PolygonIndex.Entry<Sigungu> sgg : sigunguEntries) {
+            List<PolygonIndex.Entry<Hangjungdong>> dongs = dongsBySgg.getOrDefault(
+                    sggKey(sgg.value().getSidoCode(), sgg.value().getSggCode()), List.of());
+            var node = new PolygonIndex.Entry<>(
+                    sgg.geometry(),
+                    new SigunguNode(sgg.value(), PolygonIndex.build(dongs, geometryFactory))
+            );
+            sigunguNodes.add(node);
+            sigungusBySido.computeIfAbsent(sgg.value().getSidoCode(), k -> new ArrayList<>()).add(node);
+        }
+
+        List<PolygonIndex.Entry<SidoNode>> sidoNodes = new ArrayList<>();
+        Map<String, Sido> sidoByCode = new HashMap<>();
+        for (PolygonIndex.Entry<Sido> sido : sidoEntries) {
+            List<PolygonIndex.Entry<SigunguNode>> sigungus = sigungusBySido.getOrDefault(sido.value().getSidoCode(), List.of());
+            sidoNodes.add(new PolygonIndex.Entry<>(
+                    sido.geometry(),
+                    new SidoNode(sido.value(), PolygonIndex.build(sigungus, geometryFactory))
+            ));
+            sidoByCode.put(sido.value().getSidoCode(), sido.value());
+        }
+
+        return new AdminAreaIndex(
+                PolygonIndex.build(sidoNodes, geometryFactory),
+                PolygonIndex.build(sigunguNodes, geometryFactory),
+                sidoByCode
+        );
+    }
+
+    /**
+     * (x, y) = (경도, 위도) 의 시도 / 시군구 / 행정동
+     */
+    public AdminArea locate(double x, double y) {
+        SidoNode sidoNode = sidos.locate(x, y).orElse(null);
+        SigunguNode sigunguNode = sidoNode == null ? null : sidoNode.sigungus().locate(x, y).orElse(null);
+        if (sigunguNode == null) {
+            sigunguNode = allSigungus.locate(x, y).orElse(null);
+        }
+        if (sigunguNode == null) {
+            return new AdminArea(sidoNode == null ? null : sidoNode.sido(), null, null);
+        }
+
+        Sido sido = sidoNode != null ? sidoNode.sido() : sidoByCode.get(sigunguNode.sigungu().getSidoCode());
+        Hangjungdong dong = sigunguNode.dongs().locate(x, y).orElse(null);
+        return new AdminArea(sido, sigunguNode.sigungu(), dong);
+    }
+
+    /**
+     * 시군구만 필요할 때는 전체 시군구 인덱스에서 바로 찾는다.
+     */
+    public Optional<Sigungu> locateSigungu(double x, double y) {
+        return allSigungus.locate(x, y).map(SigunguNode::sigungu);
+    }
+
+    /**
+     * 사각형 전체가 한 시군구 안에 있으면 그 시군구
+     */
+    public Optional<Sigungu> locateSigunguContaining(Envelope envelope) {
+        return allSigungus.locateContaining(envelope).map(SigunguNode::sigungu);
+    }
+
+    public int size() {
+        return allSigungus.size();
+    }
+
+    private static String sggKey(String sidoCode, String sggCode) {
+        return sidoCode + ":" + sggCode;
+    }
+}
@@ -0,0 +1,62 @@
+package com.pnu.geoscopetest.spatial;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 전체 값 크기(byte)로 제한되는 LRU 캐시
+ *
+ * 한도를 넘으면 가장 오래 사용하지 않은 항목부터 제거한다.
+ */
+public class ByteSizeLruCache<K> {
+
+    private final long maxBytes;
+    private final LinkedHashMap<K, byte[]> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long currentBytes = 0;
+
+    public ByteSizeLruCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public synchronized byte[] get(K key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(K key, byte[] value) {
+        if (value.length > maxBytes) {
+            return;
+        }
+        byte[] previous = entries.put(key, value);
+        if (previous != null) {
+            currentBytes -= previous.length;
+        }
+        currentBytes += value.length;
+
+        Iterator<Map.Entry<K, byte[]>> eldest = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && eldest.hasNext()) {
+            currentBytes -= eldest.next().getValue().length;
+            eldest.remove();
+        }
+    }
+
+    public synchronized void remove(K key) {
+        byte[] removed = entries.remove(key);
+        if (removed != null) {
+            currentBytes -= removed.length;
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        currentBytes = 0;
+    }
+
+    public synchronized long sizeInBytes() {
+        return currentBytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,24 @@
+package com.pnu.geoscopetest.spatial;
+
+/**
+ * 구면 거리 계산 (WGS 84 평균 반지름)
+ */
+public final class GeoDistance {
+
+    private static final double EARTH_RADIUS_M = 6_371_008.8;
+
+    private GeoDistance() {
+        // Prevent instantiation
+    }
+
+    /**
+     * 두 (경도, 위도) 사이의 haversine 거리(m)
+     */
+    public static double haversine(double lon1, double lat1, double lon2, double lat2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_M * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,84 @@
+package com.pnu.geoscopetest.spatial;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Polygon;
+
+/**
+ * GeoJSON geometry(또는 Feature) 를 JTS 지오메트리로 읽는다.
+ * (Polygon, MultiPolygon, LineString, MultiLineString)
+ *
+ * 형식이 맞지 않으면 IllegalArgumentException 을 던진다.
+ */
+public final class GeoJsonDecoder {
+
+    private GeoJsonDecoder() {
+        // Prevent instantiation
+    }
+
+    public static Geometry readGeometry(JsonNode node, GeometryFactory geometryFactory) {
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("GeoJSON 객체가 아닙니다.");
+        }
+        if ("Feature".equals(node.path("type").asText())) {
+            return readGeometry(node.get("geometry"), geometryFactory);
+        }
+        JsonNode coordinates = node.path("coordinates");
+        return switch (node.path("type").asText()) {
+            case "Polygon" -> readPolygon(coordinates, geometryFactory);
+            case "MultiPolygon" -> {
+                Polygon[] polygons = new Polygon[requireArray(coordinates).size()];
+                for (int i = 0; i < polygons.length; i++) {
+                    polygons[i] = readPolygon(coordinates.get(i), geometryFactory);
+                }
+                yield geometryFactory.createMultiPolygon(polygons);
+            }
+            case "LineString" -> geometryFactory.createLineString(readPositions(coordinates));
+            case "MultiLineString" -> {
+                LineString[] lines = new LineString[requireArray(coordinates).size()];
+                for (int i = 0; i < lines.length; i++) {
+                    lines[i] = geometryFactory.createLineString(readPositions(coordinates.get(i)));
+                }
+                yield geometryFactory.createMultiLineString(lines);
+            }
+            default -> throw new IllegalArgumentException("지원하지 않는 GeoJSON 타입입니다: " + node.path("type").asText());
+        };
+    }
+
+    private static Polygon readPolygon(JsonNode rings, GeometryFactory geometryFactory) {
+        requireArray(rings);
+        if (rings.isEmpty()) {
+            throw new IllegalArgumentException("Polygon 에 외곽선이 없습니다.");
+        }
+        LinearRing shell = geometryFactory.createLinearRing(readPositions(rings.get(0)));
+        LinearRing[] holes = new LinearRing[rings.size() - 1];
+        for (int i = 1; i < rings.size(); i++) {
+            holes[i - 1] = geometryFactory.createLinearRing(readPositions(rings.get(i)));
+        }
+        return geometryFactory.createPolygon(shell, holes);
+    }
+
+    private static Coordinate[] readPositions(JsonNode positions) {
+        requireArray(positions);
+        Coordinate[] coordinates = new Coordinate[positions.size()];
+        for (int i = 0; i < coordinates.length; i++) {
+            JsonNode position = positions.get(i);
+            if (!position.isArray() || position.size() < 2 || !position.get(0).isNumber() || !position.get(1).isNumber()) {
+                throw new IllegalArgumentException("좌표는 [경도, 위도] 숫자 배열이어야 합니다.");
+            }
+            coordinates[i] = new Coordinate(position.get(0).asDouble(), position.get(1).asDouble());
+        }
+        return coordinates;
+    }
+
+    private static JsonNode requireArray(JsonNode node) {
+        if (node == null || !node.isArray()) {
+            throw new IllegalArgumentException("coordinates 가 배열이 아닙니다.");
+        }
+        return node;
+    }
+}
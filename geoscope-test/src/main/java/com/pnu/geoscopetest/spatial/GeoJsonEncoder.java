@@ -0,0 +1,84 @@
+package com.pnu.geoscopetest.spatial;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Polygon;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JTS 지오메트리를 GeoJSON FeatureCollection 으로 쓴다. (Polygon / MultiPolygon)
+ *
+ * 좌표는 digits 자리까지 반올림한다. 단순화 허용오차보다 정밀한 자릿수는 크기만 늘린다.
+ */
+public final class GeoJsonEncoder {
+
+    public record Feature(Geometry geometry, Map<String, Object> properties) {
+    }
+
+    private GeoJsonEncoder() {
+        // Prevent instantiation
+    }
+
+    public static void writeFeatureCollection(JsonGenerator gen, List<Feature> features, int digits) throws IOException {
+        double scale = Math.pow(10, digits);
+        gen.writeStartObject();
+        gen.writeStringField("type", "FeatureCollection");
+        gen.writeArrayFieldStart("features");
+        for (Feature feature : features) {
+            gen.writeStartObject();
+            gen.writeStringField("type", "Feature");
+            gen.writeFieldName("geometry");
+            writeGeometry(gen, feature.geometry(), scale);
+            gen.writeObjectField("properties", feature.properties());
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+        gen.flush();
+    }
+
+    private static void writeGeometry(JsonGenerator gen, Geometry geometry, double scale) throws IOException {
+        gen.writeStartObject();
+        if (geometry instanceof Polygon polygon) {
+            gen.writeStringField("type", "Polygon");
+            gen.writeFieldName("coordinates");
+            writePolygon(gen, polygon, scale);
+        } else if (geometry instanceof MultiPolygon multiPolygon) {
+            gen.writeStringField("type", "MultiPolygon");
+            gen.writeArrayFieldStart("coordinates");
+            for (int i = 0; i < multiPolygon.getNumGeometries(); i++) {
+                writePolygon(gen, (Polygon) multiPolygon.getGeometryN(i), scale);
+            }
+            gen.writeEndArray();
+        } else {
+            throw new IllegalArgumentException("지원하지 않는 지오메트리입니다: " + geometry.getGeometryType());
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writePolygon(JsonGenerator gen, Polygon polygon, double scale) throws IOException {
+        gen.writeStartArray();
+        writeRing(gen, polygon.getExteriorRing(), scale);
+        for (int i = 0; i < polygon.getNumInteriorRing(); i++) {
+            writeRing(gen, polygon.getInteriorRingN(i), scale);
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writeRing(JsonGenerator gen, LineString ring, double scale) throws IOException {
+        gen.writeStartArray();
+        for (Coordinate c : ring.getCoordinates()) {
+            gen.writeStartArray();
+            gen.writeNumber(Math.round(c.x * scale) / scale);
+            gen.writeNumber(Math.round(c.y * scale) / scale);
+            gen.writeEndArray();
+        }
+        gen.writeEndArray();
+    }
+}
@@ -0,0 +1,62 @@
+package com.pnu.geoscopetest.spatial;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+
+import java.util.UUID;
+
+/**
+ * 지오펜스 (원 또는 폴리곤). 좌표는 (x, y) = (경도, 위도), (easting, northing) 은 같은 점의 UTM-K 좌표
+ */
+public sealed interface Geofence {
+
+    UUID id();
+
+    String clientId();
+
+    Envelope envelope();
+
+    boolean contains(double x, double y, double easting, double northing);
+
+    /**
+     * 중심을 UTM-K 로 한 번 투영해 두고, 판정은 평면 거리 비교만 한다.
+     * 반경은 중심의 축척 계수를 곱한 평면 반경(gridRadius)으로 바꿔 두므로 투영 왜곡은 보정된다.
+     */
+    record Circle(UUID id, String clientId, double longitude, double latitude, double radiusM, Envelope envelope,
+                  double centerEasting, double centerNorthing, double gridRadius)
+            implements Geofence {
+
+        private static final double METERS_PER_DEGREE = 111_000.0;
+
+        public static Circle of(UUID id, String clientId, double longitude, double latitude, double radiusM) {
+            // 후보 사각형은 넉넉하면 되므로 근사값으로 잡는다.
+            double deltaLat = radiusM / METERS_PER_DEGREE * 1.01;
+            double deltaLon = deltaLat / Math.cos(Math.toRadians(Math.min(Math.abs(latitude) + deltaLat, 89.0)));
+            double[] center = UtmK.project(longitude, latitude);
+            return new Circle(id, clientId, longitude, latitude, radiusM, new Envelope(
+                    longitude - deltaLon, longitude + deltaLon, latitude - deltaLat, latitude + deltaLat
+            ), center[0], center[1], radiusM * UtmK.scaleFactor(longitude, latitude));
+        }
+
+        @Override
+        public boolean contains(double x, double y, double easting, double northing) {
+            double dx = easting - centerEasting;
+            double dy = northing - centerNorthing;
+            return dx * dx + dy * dy <= gridRadius * gridRadius;
+        }
+    }
+
+    record Polygon(UUID id, String clientId, PreparedGeometry area) implements Geofence {
+
+        @Override
+        public Envelope envelope() {
+            return area.getGeometry().getEnvelopeInternal();
+        }
+
+        @Override
+        public boolean contains(double x, double y, double easting, double northing) {
+            return area.covers(area.getGeometry().getFactory().createPoint(new Coordinate(x, y)));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.pnu.geoscopetest.spatial;
+
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.index.quadtree.Quadtree;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 지오펜스 공간 인덱스
+ *
+ * 펜스가 계속 추가/삭제되므로 생성 후 고정되는 STR-tree 대신 Quadtree 를 쓴다.
+ * 점 하나에 대해 사각형이 겹치는 펜스만 후보로 꺼내 정밀 검사하므로 펜스 수에 비례하지 않는다.
+ */
+public class GeofenceIndex {
+
+    private final Quadtree tree = new Quadtree();
+    private final Map<UUID, Geofence> fences = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void add(Geofence fence) {
+        lock.writeLock().lock();
+        try {
+            tree.insert(fence.envelope(), fence);
+            fences.put(fence.id(), fence);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<Geofence> remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            Geofence fence = fences.remove(id);
+            if (fence != null) {
+                tree.remove(fence.envelope(), fence);
+            }
+            return Optional.ofNullable(fence);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<Geofence> get(UUID id) {
+        return Optional.ofNullable(fences.get(id));
+    }
+
+    /**
+     * (x, y) 를 포함하는 펜스
+     */
+    public List<Geofence> match(double x, double y) {
+        List<Geofence> matched = new ArrayList<>();
+        // 원형 펜스 판정용 UTM-K 좌표는 점마다 한 번만 계산한다.
+        double[] projected = UtmK.project(x, y);
+        lock.readLock().lock();
+        try {
+            for (Object candidate : tree.query(new Envelope(x, x, y, y))) {
+                Geofence fence = (Geofence) candidate;
+                // Quadtree 는 사각형이 겹칠 수 있는 노드의 항목을 모두 돌려주므로 사각형부터 다시 본다.
+                if (fence.envelope().covers(x, y) && fence.contains(x, y, projected[0], projected[1])) {
+                    matched.add(fence);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matched;
+    }
+
+    public int size() {
+        return fences.size();
+    }
+}
@@ -0,0 +1,395 @@
+package com.pnu.geoscopetest.spatial;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 고정 크기 위경도 격자 위의 핀 인덱스
+ *
+ * 격자 칸마다 핀을 원시 타입 배열(bucket)로 보관해 객체/박싱 없이 좌표를 훑는다.
+ * 쓰기는 드물고 읽기가 많으므로 전체를 ReadWriteLock 하나로 보호한다.
+ */
+public class PinGridIndex {
+
+    private static final double METERS_PER_DEGREE = 111_000.0;
+
+    /** 객체 헤더/참조 등을 포함한 대략적인 크기(byte). 메모리 사용량 추정용 */
+    private static final long CELL_OVERHEAD_BYTES = 48 + 16 + 6 * 16;
+    private static final long PIN_SLOT_BYTES = 5 * Long.BYTES + 4;
+    private static final long STRING_OVERHEAD_BYTES = 40;
+
+    public record Hit(UUID id, String name, double longitude, double latitude, long sigunguId, double distanceM) {
+    }
+
+    private final double cellSize;
+    private final Map<Long, Bucket> cells = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int size = 0;
+    private long nameChars = 0;
+    /** 핀이 들어간 적이 있는 칸의 범위. 삭제해도 줄이지 않는다. (KNN 탐색 상한) */
+    private int minCellX = Integer.MAX_VALUE;
+    private int maxCellX = Integer.MIN_VALUE;
+    private int minCellY = Integer.MAX_VALUE;
+    private int maxCellY = Integer.MIN_VALUE;
+
+    /**
+     * @param cellSize 격자 한 칸의 크기(도)
+     */
+    public PinGridIndex(double cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    public void add(UUID id, String name, double longitude, double latitude, long sigunguId) {
+        lock.writeLock().lock();
+        try {
+            int cx = cellX(longitude);
+            int cy = cellY(latitude);
+            Bucket bucket = cells.computeIfAbsent(cellKey(cx, cy), k -> new Bucket());
+            if (bucket.indexOf(id) >= 0) {
+                return;
+            }
+            minCellX = Math.min(minCellX, cx);
+            maxCellX = Math.max(maxCellX, cx);
+            minCellY = Math.min(minCellY, cy);
+            maxCellY = Math.max(maxCellY, cy);
+            bucket.add(id, name, longitude, latitude, sigunguId);
+            size++;
+            nameChars += name == null ? 0 : name.length();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 삭제할 핀이 있는 칸을 좌표로 찾으므로 저장 당시의 좌표를 넘겨야 한다.
+     */
+    public boolean remove(UUID id, double longitude, double latitude) {
+        lock.writeLock().lock();
+        try {
+            long key = cellKey(cellX(longitude), cellY(latitude));
+            Bucket bucket = cells.get(key);
+            if (bucket == null) {
+                return false;
+            }
+            int i = bucket.indexOf(id);
+            if (i < 0) {
+                return false;
+            }
+            String name = bucket.names[i];
+            bucket.remove(i);
+            if (bucket.size == 0) {
+                cells.remove(key);
+            }
+            size--;
+            nameChars -= name == null ? 0 : name.length();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            cells.clear();
+            size = 0;
+            nameChars = 0;
+            minCellX = minCellY = Integer.MAX_VALUE;
+            maxCellX = maxCellY = Integer.MIN_VALUE;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 사각형 안의 핀. 순서는 정해지지 않는다.
+     */
+    public List<Hit> findInBox(double minLon, double minLat, double maxLon, double maxLat, int limit) {
+        List<Hit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int cy = cellY(minLat); cy <= cellY(maxLat); cy++) {
+                for (int cx = cellX(minLon); cx <= cellX(maxLon); cx++) {
+                    Bucket bucket = cells.get(cellKey(cx, cy));
+                    if (bucket == null) {
+                        continue;
+                    }
+                    for (int i = 0; i < bucket.size; i++) {
+                        double lon = bucket.lons[i];
+                        double lat = bucket.lats[i];
+                        if (lon >= minLon && lon <= maxLon && lat >= minLat && lat <= maxLat) {
+                            hits.add(bucket.hit(i, 0));
+                            if (hits.size() >= limit) {
+                                return hits;
+                            }
+                        }
+                    }
+                }
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 반경(m) 안의 핀을 가까운 순서로 limit 건까지
+     */
+    public List<Hit> findWithinDistance(double longitude, double latitude, double distanceM, int limit) {
+        double deltaLat = distanceM / METERS_PER_DEGREE;
+        double deltaLon = distanceM / (METERS_PER_DEGREE * Math.cos(Math.toRadians(Math.min(Math.abs(latitude) + deltaLat, 89.0))));
+
+        List<Hit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int cy = cellY(latitude - deltaLat); cy <= cellY(latitude + deltaLat); cy++) {
+                for (int cx = cellX(longitude - deltaLon); cx <= cellX(longitude + deltaLon); cx++) {
+                    Bucket bucket = cells.get(cellKey(cx, cy));
+                    if (bucket == null) {
+                        continue;
+                    }
+                    for (int i = 0; i < bucket.size; i++) {
+                        double d = GeoDistance.haversine(longitude, latitude, bucket.lons[i], bucket.lats[i]);
+                        if (d <= distanceM) {
+                            hits.add(bucket.hit(i, d));
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.sort(Comparator.comparingDouble(Hit::distanceM));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    /**
+     * 가장 가까운 핀 k 개
+     *
+     * 중심 칸에서 바깥 고리 방향으로 칸을 넓혀가며 찾고, 다음 고리의 최소 거리가
+     * 지금까지의 k 번째 거리보다 멀어지면 멈춘다.
+     * 지금까지 훑은 칸 수가 채워진 칸 수를 넘으면(핀이 먼 곳의 조회, 핀 수보다 큰 k) 빈 칸 조회를 멈추고
+     * 남은 채워진 칸을 고리 순서로 정렬해 같은 기준으로 훑는다. (O(채워진 칸 수) 로 상한)
+     */
+    public List<Hit> findNearest(double longitude, double latitude, int k) {
+        PriorityQueue<Hit> best = new PriorityQueue<>(k, Comparator.comparingDouble(Hit::distanceM).reversed());
+        int centerX = cellX(longitude);
+        int centerY = cellY(latitude);
+
+        lock.readLock().lock();
+        try {
+            int maxRing = maxRing(centerX, centerY);
+            int ring = 0;
+            for (; ring <= maxRing && (long) (2 * ring + 1) * (2 * ring + 1) <= cells.size(); ring++) {
+                if (isComplete(best, k, latitude, ring)) {
+                    return sorted(best);
+                }
+                for (int cy = centerY - ring; cy <= centerY + ring; cy++) {
+                    boolean edgeRow = cy == centerY - ring || cy == centerY + ring;
+                    int step = edgeRow ? 1 : Math.max(1, 2 * ring);
+                    for (int cx = centerX - ring; cx <= centerX + ring; cx += step) {
+                        Bucket bucket = cells.get(cellKey(cx, cy));
+                        if (bucket != null) {
+                            collectNearest(bucket, longitude, latitude, k, best);
+                        }
+                    }
+                }
+            }
+            if (ring <= maxRing) {
+                collectNearestFromOccupied(centerX, centerY, ring, longitude, latitude, k, best);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return sorted(best);
+    }
+
+    /**
+     * fromRing 이상 고리에 있는 채워진 칸을 고리 순서로 훑는다.
+     */
+    private void collectNearestFromOccupied(int centerX, int centerY, int fromRing,
+                                            double longitude, double latitude, int k, PriorityQueue<Hit> best) {
+        List<Map.Entry<Integer, Bucket>> remaining = new ArrayList<>();
+        for (Map.Entry<Long, Bucket> cell : cells.entrySet()) {
+            long key = cell.getKey();
+            int ring = Math.max(Math.abs((int) (key >> 32) - centerX), Math.abs((int) key - centerY));
+            if (ring >= fromRing) {
+                remaining.add(Map.entry(ring, cell.getValue()));
+            }
+        }
+        remaining.sort(Map.Entry.comparingByKey());
+        for (Map.Entry<Integer, Bucket> cell : remaining) {
+            if (isComplete(best, k, latitude, cell.getKey())) {
+                return;
+            }
+            collectNearest(cell.getValue(), longitude, latitude, k, best);
+        }
+    }
+
+    private boolean isComplete(PriorityQueue<Hit> best, int k, double latitude, int ring) {
+        return best.size() == k && minRingDistance(latitude, ring) > best.peek().distanceM();
+    }
+
+    private static void collectNearest(Bucket bucket, double longitude, double latitude, int k, PriorityQueue<Hit> best) {
+        for (int i = 0; i < bucket.size; i++) {
+            double d = GeoDistance.haversine(longitude, latitude, bucket.lons[i], bucket.lats[i]);
+            if (best.size() < k) {
+                best.add(bucket.hit(i, d));
+            } else if (d < best.peek().distanceM()) {
+                best.poll();
+                best.add(bucket.hit(i, d));
+            }
+        }
+    }
+
+    private static List<Hit> sorted(PriorityQueue<Hit> best) {
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(Comparator.comparingDouble(Hit::distanceM));
+        return hits;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    public int cellCount() {
+        lock.readLock().lock();
+        try {
+            return cells.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 대략적인 힙 사용량(byte). 배열의 남는 용량과 이름 문자열까지 포함한다.
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (Bucket bucket : cells.values()) {
+                bytes += CELL_OVERHEAD_BYTES + (long) bucket.capacity() * PIN_SLOT_BYTES;
+            }
+            return bytes + (long) size * STRING_OVERHEAD_BYTES + nameChars * 2;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 중심 칸에서 가장 먼 칸까지의 고리 수. 이보다 바깥에는 칸이 없다.
+     */
+    private int maxRing(int centerX, int centerY) {
+        if (size == 0) {
+            return -1;
+        }
+        return Math.max(
+                Math.max(Math.abs(minCellX - centerX), Math.abs(maxCellX - centerX)),
+                Math.max(Math.abs(minCellY - centerY), Math.abs(maxCellY - centerY))
+        );
+    }
+
+    /**
+     * 중심 칸 안의 점에서 ring 번째 고리까지의 최소 거리(m).
+     * 경도 방향이 더 짧으므로 고리가 닿는 가장 높은 위도의 경도 거리로 잡는다.
+     */
+    private double minRingDistance(double latitude, int ring) {
+        double cos = Math.cos(Math.toRadians(Math.min(Math.abs(latitude) + ring * cellSize, 89.0)));
+        return (ring - 1) * cellSize * METERS_PER_DEGREE * cos;
+    }
+
+    private int cellX(double longitude) {
+        return (int) Math.floor(longitude / cellSize);
+    }
+
+    private int cellY(double latitude) {
+        return (int) Math.floor(latitude / cellSize);
+    }
+
+    private static long cellKey(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xffffffffL);
+    }
+
+    /**
+     * 칸 하나의 핀 목록. 같은 인덱스가 한 핀을 가리키는 병렬 배열이다.
+     */
+    private static final class Bucket {
+        private long[] idHigh = new long[4];
+        private long[] idLow = new long[4];
+        private double[] lons = new double[4];
+        private double[] lats = new double[4];
+        private long[] sigunguIds = new long[4];
+        private String[] names = new String[4];
+        private int size = 0;
+
+        int capacity() {
+            return lons.length;
+        }
+
+        int indexOf(UUID id) {
+            long high = id.getMostSignificantBits();
+            long low = id.getLeastSignificantBits();
+            for (int i = 0; i < size; i++) {
+                if (idHigh[i] == high && idLow[i] == low) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        void add(UUID id, String name, double lon, double lat, long sigunguId) {
+            if (size == lons.length) {
+                int capacity = size + (size >> 1);
+                idHigh = Arrays.copyOf(idHigh, capacity);
+                idLow = Arrays.copyOf(idLow, capacity);
+                lons = Arrays.copyOf(lons, capacity);
+                lats = Arrays.copyOf(lats, capacity);
+                sigunguIds = Arrays.copyOf(sigunguIds, capacity);
+                names = Arrays.copyOf(names, capacity);
+            }
+            idHigh[size] = id.getMostSignificantBits();
+            idLow[size] = id.getLeastSignificantBits();
+            lons[size] = lon;
+            lats[size] = lat;
+            sigunguIds[size] = sigunguId;
+            names[size] = name;
+            size++;
+        }
+
+        /**
+         * 마지막 원소를 빈 자리로 옮긴다. (순서는 유지하지 않는다)
+         */
+        void remove(int i) {
+            int last = --size;
+            idHigh[i] = idHigh[last];
+            idLow[i] = idLow[last];
+            lons[i] = lons[last];
+            lats[i] = lats[last];
+            sigunguIds[i] = sigunguIds[last];
+            names[i] = names[last];
+            names[last] = null;
+        }
+
+        Hit hit(int i, double distanceM) {
+            return new Hit(new UUID(idHigh[i], idLow[i]), names[i], lons[i], lats[i], sigunguIds[i], distanceM);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.pnu.geoscopetest.spatial;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.locationtech.jts.index.strtree.STRtree;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 폴리곤 경계의 메모리 내 공간 인덱스
+ *
+ * 경계를 PreparedGeometry 로 만들어 STR-tree 에 넣고, 점이 속한 폴리곤을 찾는다.
+ * 생성 후에는 변경하지 않으므로 여러 스레드에서 동시에 조회해도 된다.
+ * 경계 데이터가 바뀌면 새 인덱스를 만들어 교체한다.
+ */
+public class PolygonIndex<T> {
+
+    public record Entry<T>(Geometry geometry, T value) {
+    }
+
+    private record Node<T>(PreparedGeometry prepared, T value) {
+    }
+
+    private final STRtree tree;
+    private final int size;
+    private final GeometryFactory geometryFactory;
+
+    private PolygonIndex(STRtree tree, int size, GeometryFactory geometryFactory) {
+        this.tree = tree;
+        this.size = size;
+        this.geometryFactory = geometryFactory;
+    }
+
+    public static <T> PolygonIndex<T> build(List<Entry<T>> entries, GeometryFactory geometryFactory) {
+        STRtree tree = new STRtree();
+        for (Entry<T> entry : entries) {
+            PreparedGeometry prepared = PreparedGeometryFactory.prepare(entry.geometry());
+            tree.insert(entry.geometry().getEnvelopeInternal(), new Node<>(prepared, entry.value()));
+        }
+        tree.build();
+        return new PolygonIndex<>(tree, entries.size(), geometryFactory);
+    }
+
+    public static <T> PolygonIndex<T> empty(GeometryFactory geometryFactory) {
+        return build(List.of(), geometryFactory);
+    }
+
+    /**
+     * (x, y) = (경도, 위도) 를 포함하는 폴리곤의 값
+     */
+    public Optional<T> locate(double x, double y) {
+        Point point = geometryFactory.createPoint(new Coordinate(x, y));
+        for (Node<T> node : query(new Envelope(x, x, y, y))) {
+            if (node.prepared().contains(point)) {
+                return Optional.of(node.value());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 사각형 전체를 포함하는 폴리곤의 값. 사각형이 경계에 걸치면 비어 있다.
+     */
+    public Optional<T> locateContaining(Envelope envelope) {
+        Geometry box = geometryFactory.toGeometry(envelope);
+        for (Node<T> node : query(envelope)) {
+            if (node.prepared().contains(box)) {
+                return Optional.of(node.value());
+            }
+        }
+        return Optional.empty();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Node<T>> query(Envelope envelope) {
+        return tree.query(envelope);
+    }
+}
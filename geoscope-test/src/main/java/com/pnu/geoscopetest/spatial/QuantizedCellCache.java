@@ -0,0 +1,127 @@
+package com.pnu.geoscopetest.spatial;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 좌표를 cellSize(도) 격자 칸으로 양자화해 칸 단위로 값을 보관하는 LRU 캐시
+ *
+ * 병렬 조회(SggBatchService)가 한 락에 줄 서지 않도록 칸 키의 해시로 SEGMENTS 개 구역으로 나누고,
+ * 구역마다 따로 잠그는 LRU 를 둔다. 한도와 제거 순서는 구역 단위다. (구역마다 maxCells / SEGMENTS 칸)
+ *
+ * 값은 owner(예: 경계 인덱스 인스턴스)에 묶인다. reset 으로 owner 가 바뀐 뒤에 도착한
+ * 이전 owner 의 put 은 버리므로, 인덱스 교체 중 계산된 값이 남지 않는다.
+ * 적중/미스/제거 횟수는 reset 과 관계없이 누적된다.
+ */
+public class QuantizedCellCache<V> {
+
+    private static final int SEGMENTS = 16;
+
+    private final double cellSize;
+    private final Map<Long, V>[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private volatile Object owner;
+
+    @SuppressWarnings("unchecked")
+    public QuantizedCellCache(double cellSize, int maxCells) {
+        this.cellSize = cellSize;
+        int segmentCells = Math.max(1, maxCells / SEGMENTS);
+        this.segments = new Map[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, V> eldest) {
+                    if (size() > segmentCells) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+
+    public long cellKey(double x, double y) {
+        long cx = (long) Math.floor(x / cellSize);
+        long cy = (long) Math.floor(y / cellSize);
+        return (cx << 32) | (cy & 0xffffffffL);
+    }
+
+    /**
+     * 칸 키의 범위 [minX, minY, maxX, maxY]
+     */
+    public double[] cellBounds(long key) {
+        int cx = (int) (key >> 32);
+        int cy = (int) key;
+        return new double[]{cx * cellSize, cy * cellSize, (cx + 1) * cellSize, (cy + 1) * cellSize};
+    }
+
+    public V get(long key) {
+        Map<Long, V> segment = segment(key);
+        V value;
+        synchronized (segment) {
+            value = segment.get(key);
+        }
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    /**
+     * owner 는 구역 락 안에서 확인한다. reset 은 owner 를 바꾼 뒤 구역을 하나씩 비우므로
+     * 이전 owner 의 put 은 비우기 전에 들어가 지워지거나, 비운 뒤에 와서 버려진다.
+     */
+    public void put(Object owner, long key, V value) {
+        Map<Long, V> segment = segment(key);
+        synchronized (segment) {
+            if (this.owner == owner) {
+                segment.put(key, value);
+            }
+        }
+    }
+
+    public void reset(Object owner) {
+        this.owner = owner;
+        for (Map<Long, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Map<Long, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 이웃 칸은 키의 상위/하위 비트만 조금 다르므로 섞어서 구역을 고른다.
+     */
+    private Map<Long, V> segment(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return segments[(int) (h >>> 60) & (SEGMENTS - 1)];
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+}
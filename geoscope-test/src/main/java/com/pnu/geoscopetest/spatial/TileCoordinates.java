@@ -0,0 +1,28 @@
+package com.pnu.geoscopetest.spatial;
+
+/**
+ * 웹 메르카토르(XYZ) 타일 좌표 계산
+ */
+public final class TileCoordinates {
+
+    private TileCoordinates() {
+        // Prevent instantiation
+    }
+
+    public static int tileX(double longitude, int zoom) {
+        int n = 1 << zoom;
+        int x = (int) Math.floor((longitude + 180.0) / 360.0 * n);
+        return Math.max(0, Math.min(n - 1, x));
+    }
+
+    public static int tileY(double latitude, int zoom) {
+        int n = 1 << zoom;
+        double latRad = Math.toRadians(latitude);
+        int y = (int) Math.floor((1.0 - Math.log(Math.tan(latRad) + 1.0 / Math.cos(latRad)) / Math.PI) / 2.0 * n);
+        return Math.max(0, Math.min(n - 1, y));
+    }
+
+    public static boolean isValid(int z, int x, int y) {
+        return z >= 0 && z <= 22 && x >= 0 && y >= 0 && x < (1 << z) && y < (1 << z);
+    }
+}
@@ -0,0 +1,26 @@
+package com.pnu.geoscopetest.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * 시간순 UUID (RFC 9562 version 7)
+ *
+ * 앞 48비트가 밀리초 타임스탬프라 대량 insert 시 PK 인덱스의 끝쪽에만 쓰게 되어
+ * 무작위 UUID(v4) 보다 인덱스 페이지 분할이 적다.
+ */
+public final class TimeOrderedUuid {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private TimeOrderedUuid() {
+        // Prevent instantiation
+    }
+
+    public static UUID next() {
+        long millis = System.currentTimeMillis();
+        long msb = (millis << 16) | 0x7000L | (RANDOM.nextInt() & 0x0FFFL);
+        long lsb = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+}
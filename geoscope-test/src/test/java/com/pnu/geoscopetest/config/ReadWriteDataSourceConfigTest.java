@@ -0,0 +1,67 @@
+package com.pnu.geoscopetest.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReadWriteDataSourceConfigTest {
+
+    @Test
+    void openInViewIsDisabled() throws Exception {
+        List<PropertySource<?>> sources = new YamlPropertySourceLoader()
+                .load("application", new ClassPathResource("application.yml"));
+
+        assertThat(sources.get(0).getProperty("spring.jpa.open-in-view")).isEqualTo(false);
+    }
+
+    /**
+     * open-in-view 가 꺼져 있으면 한 요청 안의 트랜잭션마다 커넥션을 새로 가져온다.
+     * (PinService.save: 읽기 전용 시군구 조회 다음 INSERT)
+     */
+    @Test
+    void writeAfterReadOnlyCallInSameRequestGoesToPrimary() throws Exception {
+        Connection primaryConnection = mock(Connection.class);
+        Connection replicaConnection = mock(Connection.class);
+        DataSource dataSource = new ReadWriteDataSourceConfig()
+                .dataSource(dataSourceOf(primaryConnection), dataSourceOf(replicaConnection));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> touch(dataSource));
+        verify(replicaConnection).createStatement();
+        verify(primaryConnection, never()).createStatement();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> touch(dataSource));
+        verify(primaryConnection).createStatement();
+        verify(replicaConnection).createStatement();
+    }
+
+    private static DataSource dataSourceOf(Connection connection) throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+
+    private static void touch(DataSource dataSource) {
+        try {
+            DataSourceUtils.getConnection(dataSource).createStatement();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.pnu.geoscopetest.spatial;
+
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeofenceIndexTest {
+
+    private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+
+    @Test
+    void matchesCircleAndPolygonFences() {
+        GeofenceIndex index = new GeofenceIndex();
+        Geofence circle = Geofence.Circle.of(UUID.randomUUID(), "a", 129.0, 35.0, 500);
+        Geofence polygon = new Geofence.Polygon(UUID.randomUUID(), "b", PreparedGeometryFactory.prepare(
+                geometryFactory.toGeometry(new Envelope(129.0, 129.1, 35.0, 35.1))
+        ));
+        index.add(circle);
+        index.add(polygon);
+
+        assertThat(index.match(129.001, 35.001)).containsExactlyInAnyOrder(circle, polygon);
+        assertThat(index.match(129.05, 35.05)).containsExactly(polygon);
+        assertThat(index.match(128.9, 34.9)).isEmpty();
+
+        index.remove(polygon.id());
+        assertThat(index.match(129.05, 35.05)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+}
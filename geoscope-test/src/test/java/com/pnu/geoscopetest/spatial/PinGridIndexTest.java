@@ -0,0 +1,61 @@
+package com.pnu.geoscopetest.spatial;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PinGridIndexTest {
+
+    private final UUID near = UUID.randomUUID();
+    private final UUID middle = UUID.randomUUID();
+    private final UUID far = UUID.randomUUID();
+
+    private PinGridIndex index() {
+        PinGridIndex index = new PinGridIndex(0.01);
+        index.add(near, "near", 129.0001, 35.0001, 1L);
+        index.add(middle, "middle", 129.005, 35.005, 1L);
+        index.add(far, "far", 129.3, 35.3, 2L);
+        return index;
+    }
+
+    @Test
+    void findsNearestAcrossCells() {
+        assertThat(index().findNearest(129.0, 35.0, 2))
+                .extracting(PinGridIndex.Hit::id)
+                .containsExactly(near, middle);
+        assertThat(index().findNearest(129.0, 35.0, 5)).hasSize(3);
+    }
+
+    @Test
+    void findsNearestFromFarAwayQuery() {
+        assertThat(index().findNearest(0.0, 0.0, 2))
+                .extracting(PinGridIndex.Hit::id)
+                .containsExactly(near, middle);
+        assertThat(index().findNearest(0.0, 0.0, 100)).hasSize(3);
+    }
+
+    @Test
+    void findsWithinDistanceAndBox() {
+        PinGridIndex index = index();
+
+        assertThat(index.findWithinDistance(129.0, 35.0, 1000, 10))
+                .extracting(PinGridIndex.Hit::id)
+                .containsExactly(near, middle);
+        assertThat(index.findInBox(129.2, 35.2, 129.4, 35.4, 10))
+                .extracting(PinGridIndex.Hit::id)
+                .containsExactly(far);
+    }
+
+    @Test
+    void removesPin() {
+        PinGridIndex index = index();
+
+        assertThat(index.remove(near, 129.0001, 35.0001)).isTrue();
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.findNearest(129.0, 35.0, 1))
+                .extracting(PinGridIndex.Hit::id)
+                .containsExactly(middle);
+    }
+}
@@ -0,0 +1,27 @@
+package com.pnu.geoscopetest.spatial;
+
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PolygonIndexTest {
+
+    private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+
+    @Test
+    void locatesContainingPolygon() {
+        PolygonIndex<String> index = PolygonIndex.build(List.of(
+                new PolygonIndex.Entry<>(geometryFactory.toGeometry(new Envelope(127.0, 127.1, 37.0, 37.1)), "A"),
+                new PolygonIndex.Entry<>(geometryFactory.toGeometry(new Envelope(127.1, 127.2, 37.0, 37.1)), "B")
+        ), geometryFactory);
+
+        assertThat(index.locate(127.05, 37.05)).contains("A");
+        assertThat(index.locate(127.15, 37.05)).contains("B");
+        assertThat(index.locate(128.0, 37.05)).isEmpty();
+    }
+}
@@ -0,0 +1,40 @@
+package com.pnu.geoscopetest.spatial;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuantizedCellCacheTest {
+
+    @Test
+    void dropsPutFromPreviousOwner() {
+        QuantizedCellCache<String> cache = new QuantizedCellCache<>(0.001, 1000);
+        Object first = new Object();
+        Object second = new Object();
+        long key = cache.cellKey(129.0, 35.0);
+
+        cache.reset(first);
+        cache.put(first, key, "first");
+        cache.reset(second);
+        cache.put(first, key, "stale");
+
+        assertThat(cache.get(key)).isNull();
+        cache.put(second, key, "second");
+        assertThat(cache.get(key)).isEqualTo("second");
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void boundsSizeAcrossSegments() {
+        QuantizedCellCache<Integer> cache = new QuantizedCellCache<>(0.001, 160);
+        Object owner = new Object();
+        cache.reset(owner);
+        for (int i = 0; i < 10_000; i++) {
+            cache.put(owner, cache.cellKey(126 + i * 0.001, 35 + (i % 97) * 0.001), i);
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(160);
+        assertThat(cache.evictionCount()).isPositive();
+    }
+}
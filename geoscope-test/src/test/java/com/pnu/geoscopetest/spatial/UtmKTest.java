@@ -0,0 +1,67 @@
+package com.pnu.geoscopetest.spatial;
+
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class UtmKTest {
+
+    private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+
+    @Test
+    void projectsOriginToFalseEastingAndNorthing() {
+        double[] origin = UtmK.project(127.5, 38.0);
+
+        assertThat(origin[0]).isCloseTo(1_000_000.0, within(1e-6));
+        assertThat(origin[1]).isCloseTo(2_000_000.0, within(1e-6));
+        assertThat(UtmK.scaleFactor(127.5, 38.0)).isCloseTo(0.9996, within(1e-9));
+    }
+
+    @Test
+    void projectsSeoulCityHall() {
+        double[] seoul = UtmK.project(126.9779692, 37.566535);
+
+        assertThat(seoul[0]).isCloseTo(953_898.47, within(0.01));
+        assertThat(seoul[1]).isCloseTo(1_952_035.98, within(0.01));
+    }
+
+    @Test
+    void unprojectIsInverseOfProject() {
+        double[][] points = {{126.9779692, 37.566535}, {129.0756, 35.1796}, {124.6, 33.1}, {131.87, 37.24}};
+        for (double[] point : points) {
+            double[] projected = UtmK.project(point[0], point[1]);
+            double[] lonLat = UtmK.unproject(projected[0], projected[1]);
+
+            assertThat(lonLat[0]).isCloseTo(point[0], within(1e-7));
+            assertThat(lonLat[1]).isCloseTo(point[1], within(1e-7));
+        }
+    }
+
+    @Test
+    void planarDistanceDividedByScaleFactorMatchesHaversine() {
+        double[] a = UtmK.project(131.87, 37.24);
+        double[] b = UtmK.project(131.88, 37.25);
+        double planar = Math.hypot(b[0] - a[0], b[1] - a[1]);
+        double haversine = GeoDistance.haversine(131.87, 37.24, 131.88, 37.25);
+
+        // 구면(haversine)과 타원체 거리 차이 정도만 남는다.
+        assertThat(planar / UtmK.scaleFactor(131.875, 37.245)).isCloseTo(haversine, within(haversine * 0.003));
+    }
+
+    @Test
+    void projectsGeometryWithoutChangingSource() {
+        Geometry source = geometryFactory.createPoint(new Coordinate(127.5, 38.0));
+
+        Geometry projected = UtmK.project(source);
+
+        assertThat(projected.getSRID()).isEqualTo(UtmK.SRID);
+        assertThat(projected.getCoordinate().x).isCloseTo(1_000_000.0, within(1e-6));
+        assertThat(source.getCoordinate().x).isEqualTo(127.5);
+        assertThat(UtmK.unproject(projected, geometryFactory).getCoordinate().y).isCloseTo(38.0, within(1e-9));
+    }
+}
@@ -0,0 +1,40 @@
+-- UTM-K(EPSG:5179) 그림자 지오메트리 컬럼 추가 스크립트
+-- 설명: 거리/버퍼/면적 계산을 geography(구면) 대신 미터 단위 평면 좌표로 하기 위한 컬럼
+--       원본 geom/location 에서 자동 계산되는 STORED 생성 컬럼이라 INSERT/UPDATE 코드는 바꿀 필요가 없다.
+-- 선행: postgis_korea_epsg_towgs84.sql (spatial_ref_sys 에 5179 등록)
+-- 주의: 기존 행을 모두 다시 쓰므로 테이블이 크면 점검 시간에 실행한다.
+
+-- 핀
+ALTER TABLE pin
+    ADD COLUMN IF NOT EXISTS location_5179 GEOMETRY(POINT, 5179)
+        GENERATED ALWAYS AS (ST_Transform(location, 5179)) STORED;
+CREATE INDEX IF NOT EXISTS idx_pin_location_5179 ON pin USING GIST (location_5179);
+COMMENT ON COLUMN pin.location_5179 IS '핀 위치 (UTM-K 좌표계, SRID 5179, location 에서 자동 계산)';
+
+-- 행정동
+ALTER TABLE hangjungdong
+    ADD COLUMN IF NOT EXISTS geom_5179 GEOMETRY(MULTIPOLYGON, 5179)
+        GENERATED ALWAYS AS (ST_Transform(geom, 5179)) STORED;
+CREATE INDEX IF NOT EXISTS idx_hangjungdong_geom_5179 ON hangjungdong USING GIST (geom_5179);
+COMMENT ON COLUMN hangjungdong.geom_5179 IS '경계 기하정보 (UTM-K 좌표계, geom 에서 자동 계산)';
+
+-- 시군구
+ALTER TABLE sigungu
+    ADD COLUMN IF NOT EXISTS geom_5179 GEOMETRY(MULTIPOLYGON, 5179)
+        GENERATED ALWAYS AS (ST_Transform(geom, 5179)) STORED;
+CREATE INDEX IF NOT EXISTS idx_sigungu_geom_5179 ON sigungu USING GIST (geom_5179);
+COMMENT ON COLUMN sigungu.geom_5179 IS '병합된 경계 기하정보 (UTM-K 좌표계, geom 에서 자동 계산)';
+
+-- 시도
+ALTER TABLE sido_boundary
+    ADD COLUMN IF NOT EXISTS geom_5179 GEOMETRY(MULTIPOLYGON, 5179)
+        GENERATED ALWAYS AS (ST_Transform(geom, 5179)) STORED;
+CREATE INDEX IF NOT EXISTS idx_sido_boundary_geom_5179 ON sido_boundary USING GIST (geom_5179);
+COMMENT ON COLUMN sido_boundary.geom_5179 IS '경계 기하정보 (UTM-K 좌표계, geom 에서 자동 계산)';
+
+ANALYZE pin;
+ANALYZE hangjungdong;
+ANALYZE sigungu;
+ANALYZE sido_boundary;
+
+SELECT 'UTM-K 컬럼이 추가되었습니다.' AS message;